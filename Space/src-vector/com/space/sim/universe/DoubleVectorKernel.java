@@ -0,0 +1,121 @@
+package com.space.sim.universe;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A {@link GravityKernel} written with the Vector API, which handles as many
+ * source planets at once as the processor has lanes for doubles (four with
+ * AVX2, eight with AVX-512).  Each lane keeps its own running sum, and the
+ * lanes are only added together once every source has been handled.  The
+ * sources left over at the end, too few to fill every lane, are handled one
+ * at a time.
+ * <p>
+ * The Vector API is still an incubator module, so this class is kept apart
+ * from the rest of the source, and needs {@code --add-modules jdk.incubator.vector}
+ * both to be compiled and to be run:
+ * <pre>
+ * javac --add-modules jdk.incubator.vector -cp bin -d bin src-vector/com/space/sim/universe/DoubleVectorKernel.java
+ * java --add-modules jdk.incubator.vector -cp bin com.space.sim.main.Main
+ * </pre>
+ * When it wasn't compiled, or the module isn't enabled, {@link VectorizedSolver}
+ * uses its own loops instead.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ */
+final class DoubleVectorKernel implements GravityKernel {
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+
+	DoubleVectorKernel() {}
+
+
+	@Override
+	public void addAccel2D(double px, double py, double[] xs, double[] ys, double[] ms,
+			int from, int to, double[] sum) {
+		DoubleVector pointX = DoubleVector.broadcast(SPECIES, px);
+		DoubleVector pointY = DoubleVector.broadcast(SPECIES, py);
+		DoubleVector ax = DoubleVector.zero(SPECIES);
+		DoubleVector ay = DoubleVector.zero(SPECIES);
+
+		int k = from;
+		int upper = from + SPECIES.loopBound(to - from);
+		for (; k < upper; k += SPECIES.length()) {
+			DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, k).sub(pointX);
+			DoubleVector dy = DoubleVector.fromArray(SPECIES, ys, k).sub(pointY);
+
+			DoubleVector distSquared = dx.mul(dx).add(dy.mul(dy));
+			DoubleVector strength = DoubleVector.fromArray(SPECIES, ms, k)
+					.div(distSquared.mul(distSquared.sqrt()));
+
+			ax = dx.fma(strength, ax);
+			ay = dy.fma(strength, ay);
+		}
+
+		double sumX = ax.reduceLanes(VectorOperators.ADD);
+		double sumY = ay.reduceLanes(VectorOperators.ADD);
+		for (; k < to; k++) {
+			double dx = xs[k] - px;
+			double dy = ys[k] - py;
+
+			double invDist = 1 / Math.sqrt((dx * dx) + (dy * dy));
+			double strength = ms[k] * invDist * invDist * invDist;
+
+			sumX += dx * strength;
+			sumY += dy * strength;
+		}
+
+		sum[0] += sumX;
+		sum[1] += sumY;
+	}
+
+	@Override
+	public void addAccel3D(double px, double py, double pz, double[] xs, double[] ys, double[] zs,
+			double[] ms, int from, int to, double[] sum) {
+		DoubleVector pointX = DoubleVector.broadcast(SPECIES, px);
+		DoubleVector pointY = DoubleVector.broadcast(SPECIES, py);
+		DoubleVector pointZ = DoubleVector.broadcast(SPECIES, pz);
+		DoubleVector ax = DoubleVector.zero(SPECIES);
+		DoubleVector ay = DoubleVector.zero(SPECIES);
+		DoubleVector az = DoubleVector.zero(SPECIES);
+
+		int k = from;
+		int upper = from + SPECIES.loopBound(to - from);
+		for (; k < upper; k += SPECIES.length()) {
+			DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, k).sub(pointX);
+			DoubleVector dy = DoubleVector.fromArray(SPECIES, ys, k).sub(pointY);
+			DoubleVector dz = DoubleVector.fromArray(SPECIES, zs, k).sub(pointZ);
+
+			DoubleVector distSquared = dx.mul(dx).add(dy.mul(dy)).add(dz.mul(dz));
+			DoubleVector strength = DoubleVector.fromArray(SPECIES, ms, k)
+					.div(distSquared.mul(distSquared.sqrt()));
+
+			ax = dx.fma(strength, ax);
+			ay = dy.fma(strength, ay);
+			az = dz.fma(strength, az);
+		}
+
+		double sumX = ax.reduceLanes(VectorOperators.ADD);
+		double sumY = ay.reduceLanes(VectorOperators.ADD);
+		double sumZ = az.reduceLanes(VectorOperators.ADD);
+		for (; k < to; k++) {
+			double dx = xs[k] - px;
+			double dy = ys[k] - py;
+			double dz = zs[k] - pz;
+
+			double invDist = 1 / Math.sqrt((dx * dx) + (dy * dy) + (dz * dz));
+			double strength = ms[k] * invDist * invDist * invDist;
+
+			sumX += dx * strength;
+			sumY += dy * strength;
+			sumZ += dz * strength;
+		}
+
+		sum[0] += sumX;
+		sum[1] += sumY;
+		sum[2] += sumZ;
+	}
+}
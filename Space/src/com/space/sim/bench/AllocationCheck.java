@@ -0,0 +1,82 @@
+package com.space.sim.bench;
+
+import com.space.sim.universe.Universe;
+import com.space.sim.universe.Universe.IntegrationMethod;
+import com.space.sim.universe._2d.Universe2D;
+import com.space.sim.universe._3d.Universe3D;
+import com.space.sim.universe.nd.UniverseND;
+
+/**
+ * Checks that updating a universe with the direct force solver does not
+ * allocate any memory once the program has warmed up.  Every integration
+ * method is checked in two, three, and five dimensions.  The results are
+ * printed, and the program exits with a status of 1 if any update allocated
+ * memory.
+ * <p>
+ * Each universe is measured over {@value #WINDOWS} separate runs of updates,
+ * and only the smallest result counts.  The JIT compiler and the rest of the
+ * JVM sometimes allocate a little on the measured thread on their own, and
+ * that shows up in one run but not in the others, while memory allocated by
+ * the updates themselves shows up in every run.
+ * <p>
+ * Collision is turned off, since merging planets has to create new ones.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ */
+public class AllocationCheck {
+
+	private static final int PLANETS = 300;
+	private static final int WARMUP_STEPS = 1000;
+	private static final int STEPS = 200;
+	private static final int WINDOWS = 5;
+
+
+	public static void main(String[] args) {
+		if (!AllocationCounter.isSupported()) {
+			System.out.println("This JVM cannot count allocated memory");
+			return;
+		}
+
+		boolean allZero = true;
+
+		for (IntegrationMethod method: IntegrationMethod.values()) {
+			allZero &= check("2D", new Universe2D(), 2, method);
+			allZero &= check("3D", new Universe3D(), 3, method);
+			allZero &= check("5D", new UniverseND(5), 5, method);
+		}
+
+		if (!allZero) {
+			System.exit(1);
+		}
+	}
+
+
+	/**
+	 * Fills the given universe with randomly placed planets, measures how much
+	 * memory an update allocates in each of several runs, and prints the
+	 * smallest result.
+	 *
+	 * @param name		The name printed alongside the result
+	 * @param universe	The universe being checked
+	 * @param dimension	The dimension of the universe
+	 * @param method	The integration method used
+	 * @return			If no memory was allocated
+	 */
+	private static boolean check(String name, Universe<?> universe,
+			int dimension, IntegrationMethod method) {
+		universe.setCollisionEnabled(false);
+		universe.setIntegrationMethod(method);
+
+		ForceSolverBenchmark.fillRandomly(universe, dimension, PLANETS, 1);
+
+		double bytes = AllocationCounter.bytesPerStep(universe, WARMUP_STEPS, STEPS);
+		for (int i = 1; i < WINDOWS && bytes > 0; i++) {
+			//The universe is already warmed up after the first run
+			bytes = Math.min(bytes, AllocationCounter.bytesPerStep(universe, 0, STEPS));
+		}
+		System.out.println(name + " " + method + ": " + bytes + " bytes per step");
+
+		return bytes == 0;
+	}
+}
@@ -0,0 +1,94 @@
+package com.space.sim.bench;
+
+import java.lang.management.ManagementFactory;
+
+import com.space.sim.universe.Universe;
+
+/**
+ * A class that measures how much memory is allocated while a
+ * {@link Universe} is updated.  Allocating objects in the middle of a
+ * step creates garbage, and collecting that garbage pauses the program,
+ * so the hot parts of a step should not allocate anything.
+ * <p>
+ * The measurement uses {@code com.sun.management.ThreadMXBean}, which is
+ * available on HotSpot based JVMs.  It only counts memory allocated by the
+ * current thread, so universes should be updated on a single thread (less
+ * than 500 planets, see {@code Universe}) for the count to be complete.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ */
+public final class AllocationCounter {
+
+	private static final com.sun.management.ThreadMXBean THREAD_BEAN =
+			findThreadBean();
+
+
+	private AllocationCounter() {}
+
+
+	/**
+	 * @return	The thread bean, or {@code null} if allocation counting
+	 * 			is not supported by this JVM
+	 */
+	private static com.sun.management.ThreadMXBean findThreadBean() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+				&& bean.isThreadAllocatedMemorySupported()) {
+			bean.setThreadAllocatedMemoryEnabled(true);
+			return bean;
+		}
+		return null;
+	}
+
+
+	/**
+	 * @return	If this JVM can count allocated memory
+	 */
+	public static boolean isSupported() {
+		return THREAD_BEAN != null;
+	}
+
+	/**
+	 * Returns the total number of bytes that have been allocated by the
+	 * current thread since it started.
+	 *
+	 * @return	The number of bytes allocated by the current thread
+	 */
+	public static long allocatedBytes() {
+		if (!isSupported()) {
+			throw new UnsupportedOperationException(
+					"This JVM cannot count allocated memory");
+		}
+		return THREAD_BEAN.getCurrentThreadAllocatedBytes();
+	}
+
+
+	/**
+	 * Updates the given universe {@code warmupSteps} times so that the JIT
+	 * compiler has a chance to optimize the code, and then returns the average
+	 * number of bytes allocated during each of the next {@code steps} updates.
+	 *
+	 * @param universe		The universe being measured
+	 * @param warmupSteps	How many updates happen before measuring
+	 * @param steps			How many updates are measured
+	 * @return				The average number of bytes allocated per update
+	 */
+	public static double bytesPerStep(Universe<?> universe, int warmupSteps, int steps) {
+		if (steps <= 0) {
+			throw new IllegalArgumentException("Steps is " + steps
+					+ " when it should be greater than zero");
+		}
+
+		for (int i = 0; i < warmupSteps; i++) {
+			universe.update();
+		}
+
+		long start = allocatedBytes();
+		for (int i = 0; i < steps; i++) {
+			universe.update();
+		}
+		long end = allocatedBytes();
+
+		return (end - start) / (double)steps;
+	}
+}
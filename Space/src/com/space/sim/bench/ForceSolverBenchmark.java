@@ -0,0 +1,178 @@
+package com.space.sim.bench;
+
+import java.util.List;
+import java.util.Random;
+
+import com.space.sim.universe.Planet;
+import com.space.sim.universe.Universe;
+import com.space.sim.universe.Universe.ForceMethod;
+import com.space.sim.universe.Vector;
+import com.space.sim.universe.VectorizedSolver;
+import com.space.sim.universe._2d.Universe2D;
+import com.space.sim.universe._3d.Universe3D;
+
+/**
+ * Times how long a single update takes with each {@link ForceMethod}, and
+ * prints how much faster each one is than the loop {@code Planet.applyForces}
+ * used to run for every planet, before the planets were moved through a
+ * {@code ParticleStore}.  That loop is copied below, and only finds the
+ * gravity, so it is timed without the rest of the update.
+ * <p>
+ * Whether {@code ForceMethod.VECTORIZED} uses the Vector API is printed
+ * first.  See {@link VectorizedSolver}.
+ * <p>
+ * The numbers of planets can be given as arguments.  Otherwise 1,000,
+ * 4,000, and 8,000 planets are timed in both two and three dimensions.
+ * Collision is turned off, and the Euler method is used so that each
+ * update only calculates gravity once.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ */
+public class ForceSolverBenchmark {
+
+	private static final int WARMUP_STEPS = 5;
+	private static final int TIMED_STEPS = 10;
+
+
+	public static void main(String[] args) {
+		int[] sizes = {1000, 4000, 8000};
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				sizes[i] = Integer.parseInt(args[i]);
+			}
+		}
+
+		System.out.println("Vector API kernel: "
+				+ (VectorizedSolver.usesVectorApi() ? "in use" : "not in use"));
+
+		for (int dimension = 2; dimension <= 3; dimension++) {
+			for (int size: sizes) {
+				System.out.println(dimension + "D, " + size + " planets:");
+
+				double oldTime = timeOldLoop(dimension, size);
+				System.out.printf("  %-18s %10.3f ms per step  %6.2fx%n",
+						"Planet.applyForces", oldTime, 1.0);
+
+				for (ForceMethod method: ForceMethod.values()) {
+					double time = timeStep(dimension, size, method);
+					System.out.printf("  %-18s %10.3f ms per step  %6.2fx%n",
+							method, time, oldTime / time);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Creates a universe with randomly placed planets, and returns the average
+	 * time an update takes with the given force method.
+	 *
+	 * @param dimension	The dimension of the universe, either 2 or 3
+	 * @param size		The number of planets
+	 * @param method	The force method being timed
+	 * @return			The average time of an update, in milliseconds
+	 */
+	static double timeStep(int dimension, int size, ForceMethod method) {
+		Universe<?> universe = (dimension == 2) ? new Universe2D() : new Universe3D();
+		fillRandomly(universe, dimension, size, 1);
+		universe.setCollisionEnabled(false);
+		universe.setForceMethod(method);
+
+		for (int i = 0; i < WARMUP_STEPS; i++) {
+			universe.update();
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < TIMED_STEPS; i++) {
+			universe.update();
+		}
+		return (System.nanoTime() - start) / (TIMED_STEPS * 1e6);
+	}
+
+	/**
+	 * Creates a universe with the same planets as {@link #timeStep}, and returns
+	 * the average time it takes to find the gravity on every planet with the
+	 * loop {@code Planet.applyForces} used to run.
+	 *
+	 * @param dimension	The dimension of the universe, either 2 or 3
+	 * @param size		The number of planets
+	 * @return			The average time of finding every planet's gravity, in milliseconds
+	 */
+	static double timeOldLoop(int dimension, int size) {
+		Universe<?> universe = (dimension == 2) ? new Universe2D() : new Universe3D();
+		fillRandomly(universe, dimension, size, 1);
+		return timeOldLoop(universe.getPlanets(), universe.getPhysicsConfig().getGravConstant());
+	}
+
+	private static <V extends Vector<V>> double timeOldLoop(List<Planet<V>> planets,
+			double gravConstant) {
+		for (int i = 0; i < WARMUP_STEPS; i++) {
+			oldApplyForces(planets, gravConstant);
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < TIMED_STEPS; i++) {
+			oldApplyForces(planets, gravConstant);
+		}
+		return (System.nanoTime() - start) / (TIMED_STEPS * 1e6);
+	}
+
+	/**
+	 * Finds the gravity on every planet the way {@code Planet.applyForces} used
+	 * to, with a new vector for every pair of planets, and stores it as each
+	 * planet's acceleration.
+	 *
+	 * @param planets		The planets whose gravity is acting on each other
+	 * @param gravConstant	The gravitational constant
+	 */
+	private static <V extends Vector<V>> void oldApplyForces(List<Planet<V>> planets,
+			double gravConstant) {
+		for (Planet<V> planet: planets) {
+			V newAccel = planet.getCoords().copy();
+			newAccel.setToZero();
+
+			for (Planet<V> otherPlanet: planets) {
+				if (otherPlanet == planet || otherPlanet.getMass() == 0) {
+					continue;
+				}
+
+				V otherToThis = otherPlanet.getCoords().getSubtract(planet.getCoords());
+
+				double accelStrength = (gravConstant * otherPlanet.getMass()) / otherToThis.lengthSquared();
+
+				otherToThis.normalize();
+				otherToThis.multiplyLength(accelStrength);
+
+				newAccel.add(otherToThis);
+			}
+
+			planet.getAccel().set(newAccel);
+		}
+	}
+
+	/**
+	 * Removes the planets in the given universe, and replaces them with
+	 * randomly placed planets.
+	 *
+	 * @param universe	The universe being filled
+	 * @param dimension	The dimension of the universe
+	 * @param size		The number of planets added
+	 * @param seed		The seed used for the random numbers
+	 */
+	static void fillRandomly(Universe<?> universe, int dimension, int size, long seed) {
+		universe.removeAllPlanets();
+
+		Random rand = new Random(seed);
+		for (int i = 0; i < size; i++) {
+			double[] stats = new double[1 + (2 * dimension)];
+			for (int a = 0; a < dimension; a++) {
+				stats[a] = rand.nextDouble(-1000, 1000);
+				stats[dimension + 1 + a] = rand.nextDouble(-1, 1);
+			}
+			stats[dimension] = rand.nextDouble(1, 10);
+			universe.addPlanet(stats);
+		}
+	}
+}
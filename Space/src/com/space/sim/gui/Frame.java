@@ -77,14 +77,13 @@ public class Frame {
         collisionEnabler.addActionListener(new ActionListener() {
         	@Override
             public void actionPerformed(ActionEvent e) {
-            	painter.getUniverse().setCollisionEnabled(
-            			!painter.getUniverse().isCollisionEnabled());
-            	
-                if (painter.getUniverse().isCollisionEnabled()) {
-                    collisionEnabler.setText("Disable Collision");
-                } else {
-                    collisionEnabler.setText("Enable Collision");
-                }
+            	painter.changeUniverse(u -> u.setCollisionEnabled(!u.isCollisionEnabled()), () -> {
+                    if (painter.getUniverse().isCollisionEnabled()) {
+                        collisionEnabler.setText("Disable Collision");
+                    } else {
+                        collisionEnabler.setText("Enable Collision");
+                    }
+            	});
             }
         });
         
@@ -92,7 +91,7 @@ public class Frame {
         planetRemover.addActionListener(new ActionListener() {
         	@Override
             public void actionPerformed(ActionEvent e) {
-                painter.getUniverse().removeAllPlanets();
+                painter.changeUniverse(u -> u.removeAllPlanets());
                 planetRemover.setEnabled(false);
             }
         });
@@ -105,6 +104,7 @@ public class Frame {
         		Painter<?> newPainter = ChangeDimDialog.askNewDimensionCount();
         		
         		if (newPainter != null) {
+        			painter.stop();
         			frame.remove(painter);
             		painter = newPainter;
             		frame.add(painter, BorderLayout.CENTER);
@@ -6,6 +6,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
+import java.util.function.Consumer;
 
 import javax.swing.JPanel;
 import javax.swing.Timer;
@@ -27,7 +28,10 @@ import com.space.sim.universe._2d.Vector2;
 @SuppressWarnings("serial")
 public abstract class Painter<V extends Vector<V>> extends JPanel {
 	
+	private static final int DEFAULT_STEPS_PER_SEC = 60;
+	
 	private Timer timer;
+	private SimulationLoop<V> simulation;
 	
 	protected Universe<V> universe;
 	
@@ -43,7 +47,8 @@ public abstract class Painter<V extends Vector<V>> extends JPanel {
     	PAUSED, SHOW_PLANETS, SHOW_COORDS, SHOW_VELOCITY, SHOW_ACCEL, 
     	SHOW_ARROWS, SHOW_BARY, SHOW_PATHS, PAUSE_PATHS;
 		
-    	private boolean on = true;
+    	//The simulation reads these from its own thread
+    	private volatile boolean on = true;
 		
 		public void set(boolean on) {
 			this.on = on;
@@ -67,7 +72,6 @@ public abstract class Painter<V extends Vector<V>> extends JPanel {
     
 
     private int framesPerSec = 60;
-    private int calcsPerFrame = 1;
     
     //This variable helps in determining how the
     //window changed when the window changes
@@ -93,29 +97,17 @@ public abstract class Painter<V extends Vector<V>> extends JPanel {
         	}
         });
         
-        //Creating the drawing loop
+        simulation = new SimulationLoop<>(universe, DEFAULT_STEPS_PER_SEC);
+        simulation.start();
+        
+        //Creating the drawing loop.  The universe is updated by the
+        //simulation, so this only paints whatever the latest snapshot is
         timer = new Timer(1000 / framesPerSec, new ActionListener() {
         	@Override
             public void actionPerformed(ActionEvent e) {
-                for (int i = 0; i < calcsPerFrame; i++) {
-                	
-                	
-                    if (Setting.PAUSED.isOff()) {
-                        universe.update();
-                        
-                        if (Setting.PAUSE_PATHS.isOff()) {
-                        	universe.getPaths().updatePaths(universe.getPlanets());
-                        }
-                    }
-                }
-                
-                
-                //This is outside the if-paused block in case the
-                //planets change while paused
-                if (Setting.SHOW_BARY.isOn()) {
-                	universe.calcBary();
-                }
-                
+        		//The snapshot asked for here is the one painted next frame,
+        		//so painting never has to wait for an update to finish
+        		simulation.requestSnapshot();
                 repaint(0, 0, (int)screenSize.x(), (int)screenSize.y());
             }
         });
@@ -162,33 +154,36 @@ public abstract class Painter<V extends Vector<V>> extends JPanel {
      * @param menuNum	The universe preset that is loaded
      */
     public void loadPresets(int menuNum) {
-    	clearPaths();
-        universe.loadPresets(menuNum);
+    	changeUniverse(u -> {
+    		u.getPaths().clearPaths();
+    		u.loadPresets(menuNum);
+    	});
     }
     
     
     /**
-     * Sets the calculations per frame and frames per second back to their
+     * Sets the steps per second and frames per second back to their
      * starting values.  Also calls the {@link Universe#resetVariables()} method.
      */
     public void resetVariables() {
-        calcsPerFrame = 1;
+        setStepsPerSec(DEFAULT_STEPS_PER_SEC);
         setFramesPerSec(60);
-        universe.resetVariables();
+        changeUniverse(u -> u.resetVariables());
     }
     
     /**
-     * Sets the number of times the universe is updated between every repainting.
+     * Sets the number of times the universe is updated in a second.  This does
+     * not depend on how often the frame is painted.
      * 
-     * @param calcsPerFrame	The number of calculations between each repaint
+     * @param stepsPerSec	The number of updates in a second, or 0 to update
+     * 						the universe as fast as possible
      */
-    public void setCalcsPerFrame(int calcsPerFrame) {
-        if (calcsPerFrame > 0) {
-            this.calcsPerFrame = calcsPerFrame;
-        } else {
-        	throw new IllegalArgumentException("Calculations Per frame is "
-        			+ calcsPerFrame + " when it should be more than 0");
-        }
+    public void setStepsPerSec(int stepsPerSec) {
+        simulation.setStepsPerSec(stepsPerSec);
+    }
+    
+    public int getStepsPerSec() {
+    	return simulation.getStepsPerSec();
     }
     
     /**
@@ -210,13 +205,54 @@ public abstract class Painter<V extends Vector<V>> extends JPanel {
      * in this {@code Painter}.
      */
     public void clearPaths() {
-    	universe.getPaths().clearPaths();
+    	changeUniverse(u -> u.getPaths().clearPaths());
+    }
+    
+    /**
+     * Stops updating and painting the universe.  This should be called
+     * when this {@code Painter} is no longer going to be shown.
+     */
+    public void stop() {
+    	timer.stop();
+    	simulation.stop();
     }
     
     public Universe<V> getUniverse() {
     	return universe;
     }
     
+    /**
+     * @return	The latest snapshot of the universe, which is
+     * 			what should be painted
+     */
+    protected UniverseSnapshot<V> getSnapshot() {
+    	return simulation.getSnapshot();
+    }
+    
+    /**
+     * Makes a change to the universe in this {@code Painter}.  Anything that
+     * changes the universe should go through this method instead of changing
+     * it directly.  The change is made on the simulation's thread between two
+     * updates, so it may not have happened yet when this method returns.
+     * 
+     * @param change	The change made to the universe
+     */
+    public void changeUniverse(Consumer<Universe<V>> change) {
+    	simulation.submit(change);
+    }
+    
+    /**
+     * Makes a change to the universe like {@link #changeUniverse(Consumer)},
+     * and then runs {@code afterwards} on the Event Dispatch Thread.  This
+     * should be used when the buttons need to show the result of the change.
+     * 
+     * @param change		The change made to the universe
+     * @param afterwards	What is run after the change is made
+     */
+    public void changeUniverse(Consumer<Universe<V>> change, Runnable afterwards) {
+    	simulation.submit(change, afterwards);
+    }
+    
     
     /**
      * Draws a circle.  This method is preferred when dealing with {@code Vector2}
@@ -5,8 +5,8 @@ import javax.swing.ActionMap;
 import javax.swing.InputMap;
 import javax.swing.KeyStroke;
 
+import com.space.sim.math.Hyperball;
 import com.space.sim.math.SimpleLine;
-import com.space.sim.universe.Planet;
 import com.space.sim.universe._2d.Universe2D;
 import com.space.sim.universe._2d.Vector2;
 
@@ -14,6 +14,7 @@ import java.awt.Graphics;
 import java.awt.Color;
 import java.awt.event.KeyEvent;
 import java.awt.event.ActionEvent;
+import java.util.List;
 
 /**
  * An implementation of {@link Painter} which draws the contents
@@ -134,13 +135,10 @@ public class Painter2D extends Painter<Vector2> {
         }
         
         
+        UniverseSnapshot<Vector2> snapshot = getSnapshot();
+        
         if (Setting.SHOW_PATHS.isOn()) {
-        	for (SimpleLine<Vector2> line: universe.getPaths().getFinishedLines()) {
-        		g.setColor(line.getColor());
-        		drawLine(g, line);
-        	}
-        	
-        	for (SimpleLine<Vector2> line: universe.getPaths().getUnfinishedLines()) {
+        	for (SimpleLine<Vector2> line: snapshot.getPathLines()) {
         		g.setColor(line.getColor());
         		drawLine(g, line);
         	}
@@ -148,44 +146,33 @@ public class Painter2D extends Painter<Vector2> {
         
         
         if (Setting.SHOW_PLANETS.isOn()) {
-            for (Planet<Vector2> p: universe.getPlanets()) {
-            	g.setColor(p.getColor());
-        		drawCircle(g, p);
+            for (Hyperball<Vector2> ball: snapshot.getBalls()) {
+            	g.setColor(ball.getColor());
+        		drawCircle(g, ball);
             }
         }
         
         
         if (Setting.SHOW_VELOCITY.isOn()) {
             g.setColor(Color.BLUE);
-            
-            for (Planet<Vector2> p: universe.getPlanets()) {
-            	drawLine(g, p.getCoords(), p.getCoords().getAdd(p.getVelocity()));
-            	if (Setting.SHOW_ARROWS.isOn()) {
-            		drawHeadOfArrow(g, p.getCoords(), p.getCoords().getAdd(p.getVelocity()));
-            	}
-            }
+            drawArrows(g, snapshot, snapshot.getVelocities());
         }
         
         
         if (Setting.SHOW_ACCEL.isOn()) {
             g.setColor(Color.GREEN);
-            
-            for (Planet<Vector2> p: universe.getPlanets()) {
-            	drawLine(g, p.getCoords(), p.getCoords().getAdd(p.getAccel()));
-            	if (Setting.SHOW_ARROWS.isOn()) {
-            		drawHeadOfArrow(g, p.getCoords(), p.getCoords().getAdd(p.getAccel()));
-            	}
-            }
+            drawArrows(g, snapshot, snapshot.getAccels());
         }
         
         
-        if (Setting.SHOW_BARY.isOn()) {
+        //The barycenter is null if the snapshot was made before it was turned on
+        if (Setting.SHOW_BARY.isOn() && snapshot.getBarycenter() != null) {
             g.setColor(Color.WHITE);
             
             //Universe sets the barycenter's coordinates to NaN if there are no planets
-            if (!Double.isNaN(universe.getBarycenter().x())) {
+            if (!Double.isNaN(snapshot.getBarycenter().x())) {
             	int radius = 5;
-            	drawCircle(g, universe.getBarycenter(), radius);
+            	drawCircle(g, snapshot.getBarycenter(), radius);
             }
         }
         
@@ -193,6 +180,28 @@ public class Painter2D extends Painter<Vector2> {
     }
     
     
+    /**
+     * Draws a line from each planet in the snapshot along the matching vector.
+     * The vectors may be empty if the snapshot was made before they were
+     * turned on, in which case nothing is drawn.
+     * 
+     * @param g			The graphics on which the lines are drawn
+     * @param snapshot	The snapshot holding the planets
+     * @param vectors	The vector drawn from each planet
+     */
+    private void drawArrows(Graphics g, UniverseSnapshot<Vector2> snapshot, List<Vector2> vectors) {
+    	for (int i = 0; i < vectors.size(); i++) {
+    		Vector2 start = snapshot.getBalls().get(i).getCoords();
+    		Vector2 end = start.getAdd(vectors.get(i));
+    		
+    		drawLine(g, start, end);
+        	if (Setting.SHOW_ARROWS.isOn()) {
+        		drawHeadOfArrow(g, start, end);
+        	}
+    	}
+    }
+    
+    
     /**
      * Draws the head of an arrow on a line.  If the line is smaller than a
      * pixel, the head is still drawn.  If the line is a single point, the
@@ -121,7 +121,9 @@ public class Painter3D extends Painter<Vector3> {
     	camMan.prepareForNextDraw();
     	
     	
-    	camMan.addBalls(universe.getPlanets());
+    	UniverseSnapshot<Vector3> snapshot = getSnapshot();
+    	//The balls are copied since they are sorted by the camera
+    	camMan.addBalls(new ArrayList<>(snapshot.getBalls()));
     	
     	
     	ArrayList<SimpleLine<Vector3>> lines = new ArrayList<>();
@@ -129,8 +131,7 @@ public class Painter3D extends Painter<Vector3> {
     	//We need to convert the planet path lines to something camMan can use
     	//before adding it to the camMan
     	if (Setting.SHOW_PATHS.isOn()) {
-    		lines.addAll(universe.getPaths().getFinishedLines());
-    		lines.addAll(universe.getPaths().getUnfinishedLines());
+    		lines.addAll(snapshot.getPathLines());
     	}
     	
     	if (Setting.SHOW_COORDS.isOn()) {
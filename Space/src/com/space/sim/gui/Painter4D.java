@@ -178,13 +178,13 @@ public class Painter4D extends Painter<Vector4> {
 	protected void prepareForPainting() {
 		camMan.prepareForNextDraw();
 		
-		camMan.addBalls(universe.getPlanets());
+		UniverseSnapshot<Vector4> snapshot = getSnapshot();
+		camMan.addBalls(snapshot.getBalls());
 		
 		ArrayList<SimpleLine<Vector4>> lines = new ArrayList<>();
 		
 		if (Setting.SHOW_PATHS.isOn()) {
-			lines.addAll(universe.getPaths().getFinishedLines());
-			lines.addAll(universe.getPaths().getUnfinishedLines());
+			lines.addAll(snapshot.getPathLines());
     	}
 		
 		
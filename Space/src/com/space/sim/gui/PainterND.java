@@ -196,14 +196,14 @@ public class PainterND extends Painter<VectorN> {
 	protected void prepareForPainting() {
 		camManN.prepareForNextDraw();
 		
-		camManN.addBalls(universe.getPlanets());
+		UniverseSnapshot<VectorN> snapshot = getSnapshot();
+		camManN.addBalls(snapshot.getBalls());
 		
 		
 		ArrayList<SimpleLine<VectorN>> lines = new ArrayList<>();
 		
 		if (Setting.SHOW_PATHS.isOn()) {
-			lines.addAll(universe.getPaths().getFinishedLines());
-			lines.addAll(universe.getPaths().getUnfinishedLines());
+			lines.addAll(snapshot.getPathLines());
     	}
 		
 		if (Setting.SHOW_COORDS.isOn()) {
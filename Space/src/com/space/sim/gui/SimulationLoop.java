@@ -0,0 +1,270 @@
+package com.space.sim.gui;
+
+import java.awt.GraphicsEnvironment;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+
+import com.space.sim.universe.Universe;
+import com.space.sim.universe.Vector;
+
+/**
+ * Updates a {@link Universe} on its own thread, so that long updates never
+ * keep the Event Dispatch Thread from responding to the user, and so that how
+ * fast the simulation runs doesn't depend on how often it is painted.
+ * <p>
+ * The universe is updated up to a target number of times per second, or as
+ * fast as possible when the target is 0.  If the updates fall behind the
+ * target, the loop catches up by at most {@value #MAX_CATCH_UP} updates
+ * before giving up on the missed ones, so one slow update doesn't cause a
+ * burst of updates afterwards.
+ * <p>
+ * Only this loop's thread ever touches the universe.  Other threads change it
+ * by adding the change to a queue with {@link #submit}, and this loop makes the
+ * queued changes between two updates, in the order they were added.  The queue
+ * doesn't need a lock, so neither the updates nor the threads adding changes
+ * ever wait for each other, and a change never happens in the middle of an update.
+ * <p>
+ * Painting reads a {@link UniverseSnapshot} instead of the universe.  Before
+ * each frame, the painter asks for a new one with {@link #requestSnapshot()},
+ * and this loop makes it between two updates and publishes it by setting a
+ * single volatile field.  Snapshots are only made when asked for, so updating
+ * faster than the frame rate doesn't copy the universe more often.
+ * <p>
+ * If an update, a change, or a snapshot throws an exception, the loop keeps
+ * running.  The exception is written to the standard error, the user is told
+ * about it, and the simulation is paused, so it doesn't keep failing on every
+ * update while the window shows the last snapshot.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ * @param <V> The type of vector the {@code universe} instance uses
+ */
+public class SimulationLoop<V extends Vector<V>> {
+
+	private static final int MAX_CATCH_UP = 10;
+
+	//How long the loop waits before checking again if the simulation is still paused
+	private static final long PAUSED_WAIT = 10_000_000;
+
+	private final Universe<V> universe;
+	private final Thread thread;
+
+	private volatile int stepsPerSec;
+	private volatile boolean running = true;
+
+	private volatile UniverseSnapshot<V> snapshot;
+	private volatile boolean snapshotWanted;
+
+	private final ConcurrentLinkedQueue<Consumer<Universe<V>>> changes = new ConcurrentLinkedQueue<>();
+
+
+	/**
+	 * Creates a loop for the given universe.  It doesn't start
+	 * updating the universe until {@link #start()} is called.
+	 *
+	 * @param universe		The universe updated by this loop
+	 * @param stepsPerSec	How many times the universe is updated in a second,
+	 * 						or 0 to update it as fast as possible
+	 */
+	public SimulationLoop(Universe<V> universe, int stepsPerSec) {
+		this.universe = universe;
+		setStepsPerSec(stepsPerSec);
+		snapshot = new UniverseSnapshot<>(universe);
+
+		thread = new Thread(this::run, "Simulation");
+		//The loop should never keep the program open after the window is closed
+		thread.setDaemon(true);
+	}
+
+
+	public void start() {
+		thread.start();
+	}
+
+	/**
+	 * Stops the loop after the update it is on, if any.  The
+	 * loop can't be started again after it has been stopped.
+	 */
+	public void stop() {
+		running = false;
+		LockSupport.unpark(thread);
+	}
+
+
+	/**
+	 * Sets how many times the universe is updated in a second.
+	 *
+	 * @param stepsPerSec	The number of updates in a second, or 0 to
+	 * 						update the universe as fast as possible
+	 */
+	public void setStepsPerSec(int stepsPerSec) {
+		if (stepsPerSec >= 0) {
+			this.stepsPerSec = stepsPerSec;
+			LockSupport.unpark(thread);
+		} else {
+			throw new IllegalArgumentException("Steps per second is "
+					+ stepsPerSec + " when it should be at least 0");
+		}
+	}
+
+	public int getStepsPerSec() {
+		return stepsPerSec;
+	}
+
+
+	/**
+	 * Adds a change to the queue of changes made to the universe.  It is made
+	 * as soon as the current update is finished, if there is one, even
+	 * while the simulation is paused.  Any thread may call this.
+	 *
+	 * @param change	The change made to the universe
+	 */
+	public void submit(Consumer<Universe<V>> change) {
+		changes.add(change);
+		LockSupport.unpark(thread);
+	}
+
+	/**
+	 * Adds a change to the queue of changes made to the universe, like
+	 * {@link #submit(Consumer)}.  Once the change is made, {@code afterwards}
+	 * is run on the Event Dispatch Thread, where it can show the change.  It
+	 * is run even if the change fails, so it shows what the universe was left as.
+	 *
+	 * @param change		The change made to the universe
+	 * @param afterwards	What is run on the Event Dispatch Thread after the change
+	 */
+	public void submit(Consumer<Universe<V>> change, Runnable afterwards) {
+		submit(u -> {
+			try {
+				change.accept(u);
+			} finally {
+				SwingUtilities.invokeLater(afterwards);
+			}
+		});
+	}
+
+
+	/**
+	 * Asks for a new snapshot of the universe.  It is made as soon as
+	 * the current update is finished, if there is one.
+	 */
+	public void requestSnapshot() {
+		snapshotWanted = true;
+		LockSupport.unpark(thread);
+	}
+
+	/**
+	 * @return	The latest snapshot of the universe.  This never blocks.
+	 */
+	public UniverseSnapshot<V> getSnapshot() {
+		return snapshot;
+	}
+
+
+
+	private void run() {
+		long nextStep = System.nanoTime();
+
+		while (running) {
+			handleRequests();
+
+			if (Painter.Setting.PAUSED.isOn()) {
+				LockSupport.parkNanos(PAUSED_WAIT);
+				nextStep = System.nanoTime();
+				continue;
+			}
+
+			step();
+
+			int target = stepsPerSec;
+			if (target == 0) {
+				nextStep = System.nanoTime();
+				continue;
+			}
+
+			long interval = 1_000_000_000L / target;
+			nextStep += interval;
+
+			long now = System.nanoTime();
+			if (now - nextStep > MAX_CATCH_UP * interval) {
+				nextStep = now;
+			}
+
+			//Parking can end early, so we keep going until it's time for the
+			//next update, or until the target or the pause setting changes.
+			//Changes and snapshots are still made while waiting.
+			while (running && now < nextStep && stepsPerSec == target
+					&& Painter.Setting.PAUSED.isOff()) {
+				handleRequests();
+				LockSupport.parkNanos(nextStep - now);
+				now = System.nanoTime();
+			}
+		}
+	}
+
+	/**
+	 * Updates the universe once, and updates its paths
+	 * unless drawing them is paused.
+	 */
+	private void step() {
+		try {
+			universe.update();
+
+			if (Painter.Setting.PAUSE_PATHS.isOff()) {
+				universe.getPaths().updatePaths(universe.getPlanets());
+			}
+		} catch (RuntimeException e) {
+			handleFailure("updating the universe", e);
+		}
+	}
+
+	/**
+	 * Makes every queued change, and then makes a snapshot if one was asked for.
+	 */
+	private void handleRequests() {
+		Consumer<Universe<V>> change;
+		while ((change = changes.poll()) != null) {
+			try {
+				change.accept(universe);
+			} catch (RuntimeException e) {
+				//The rest of the queued changes are still made
+				handleFailure("changing the universe", e);
+			}
+		}
+
+		if (snapshotWanted) {
+			//This is cleared first, so a request made while
+			//the snapshot is being made isn't missed
+			snapshotWanted = false;
+			try {
+				snapshot = new UniverseSnapshot<>(universe);
+			} catch (RuntimeException e) {
+				handleFailure("copying the universe to paint it", e);
+			}
+		}
+	}
+
+	/**
+	 * Pauses the simulation after something went wrong, writes the exception
+	 * to the standard error, and tells the user in a dialog if there is a screen.
+	 *
+	 * @param doing	What the loop was doing, which is put in the message
+	 * @param e		What went wrong
+	 */
+	private void handleFailure(String doing, RuntimeException e) {
+		Painter.Setting.PAUSED.set(true);
+
+		String message = "The simulation was paused after an error while " + doing;
+		System.err.println(message + ":");
+		e.printStackTrace();
+
+		if (!GraphicsEnvironment.isHeadless()) {
+			SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null,
+					message + ":\n" + e, "Simulation Error", JOptionPane.ERROR_MESSAGE));
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package com.space.sim.gui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.space.sim.math.Hyperball;
+import com.space.sim.math.Line;
+import com.space.sim.math.SimpleLine;
+import com.space.sim.universe.Planet;
+import com.space.sim.universe.Universe;
+import com.space.sim.universe.Vector;
+
+/**
+ * A copy of everything a {@link Painter} draws from a {@link Universe}, taken
+ * between two updates.  Nothing in a snapshot changes after it is made, so it
+ * can be painted on the Event Dispatch Thread while the {@link SimulationLoop}
+ * keeps updating the universe, without either of them waiting for the other.
+ * <p>
+ * Finished path lines never change, so they are shared with the universe's
+ * {@link com.space.sim.universe.Paths Paths} instead of being copied.  Every
+ * other vector is copied.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ * @param <V> The type of vector the universe uses
+ */
+public final class UniverseSnapshot<V extends Vector<V>> {
+
+	private final List<Hyperball<V>> balls;
+	private final List<V> velocities;
+	private final List<V> accels;
+	private final List<SimpleLine<V>> lines;
+	private final V barycenter;
+
+
+	/**
+	 * Copies the given universe.  This must be called on the thread
+	 * updating the universe, or while it isn't being updated.
+	 * <p>
+	 * To save time, the velocities and accelerations are only copied when
+	 * {@link Painter.Setting#SHOW_VELOCITY} or {@link Painter.Setting#SHOW_ACCEL}
+	 * are on, the paths are only copied when {@link Painter.Setting#SHOW_PATHS}
+	 * is on, and the barycenter is only found when {@link Painter.Setting#SHOW_BARY}
+	 * is on.  Otherwise, they are left empty or {@code null}.
+	 *
+	 * @param universe	The universe that is copied
+	 */
+	UniverseSnapshot(Universe<V> universe) {
+		List<Planet<V>> planets = universe.getPlanets();
+
+		ArrayList<Hyperball<V>> balls = new ArrayList<>(planets.size());
+		for (Planet<V> p: planets) {
+			balls.add(new Hyperball<>(p.getCoords().copy(), p.getRad(), p.getColorInfo()));
+		}
+		this.balls = Collections.unmodifiableList(balls);
+
+		velocities = (Painter.Setting.SHOW_VELOCITY.isOn())
+				? copyAll(planets, true) : Collections.emptyList();
+		accels = (Painter.Setting.SHOW_ACCEL.isOn())
+				? copyAll(planets, false) : Collections.emptyList();
+
+		if (Painter.Setting.SHOW_PATHS.isOn()) {
+			ArrayList<SimpleLine<V>> lines = new ArrayList<>(universe.getPaths().getFinishedLines());
+			for (Line<V> line: universe.getPaths().getUnfinishedLines()) {
+				lines.add(new SimpleLine<>(line.getPoint1().copy(),
+						line.getPoint2().copy(), line.getColor()));
+			}
+			this.lines = Collections.unmodifiableList(lines);
+		} else {
+			lines = Collections.emptyList();
+		}
+
+		if (Painter.Setting.SHOW_BARY.isOn()) {
+			universe.calcBary();
+			barycenter = universe.getBarycenter().copy();
+		} else {
+			barycenter = null;
+		}
+	}
+
+
+	/**
+	 * @param planets		The planets whose vectors are copied
+	 * @param velocities	If the velocities are copied, instead of the accelerations
+	 * @return				A copy of each planet's velocity or acceleration, in order
+	 */
+	private static <V extends Vector<V>> List<V> copyAll(List<Planet<V>> planets, boolean velocities) {
+		ArrayList<V> copies = new ArrayList<>(planets.size());
+		for (Planet<V> p: planets) {
+			copies.add((velocities ? p.getVelocity() : p.getAccel()).copy());
+		}
+		return Collections.unmodifiableList(copies);
+	}
+
+
+
+	/**
+	 * @return	A ball for each planet, with its position, radius and color
+	 */
+	public List<Hyperball<V>> getBalls() {
+		return balls;
+	}
+
+	/**
+	 * @return	The velocity of each planet, in the same order as
+	 * 			{@link #getBalls()}, or an empty list if they weren't copied
+	 */
+	public List<V> getVelocities() {
+		return velocities;
+	}
+
+	/**
+	 * @return	The acceleration of each planet, in the same order as
+	 * 			{@link #getBalls()}, or an empty list if they weren't copied
+	 */
+	public List<V> getAccels() {
+		return accels;
+	}
+
+	/**
+	 * @return	Every line of every planet's path, finished or not,
+	 * 			or an empty list if they weren't copied
+	 */
+	public List<SimpleLine<V>> getPathLines() {
+		return lines;
+	}
+
+	/**
+	 * @return	The barycenter of the universe, which has coordinates of
+	 * 			NaN if there are no planets, or {@code null} if it wasn't found
+	 */
+	public V getBarycenter() {
+		return barycenter;
+	}
+}
@@ -6,16 +6,19 @@ import java.awt.event.ActionListener;
 import javax.swing.JButton;
 
 import com.space.sim.gui.dialogbox.NumAskDialog;
-import com.space.sim.universe.Planet;
+import com.space.sim.universe.PhysicsConfig;
+import com.space.sim.universe.Universe;
+import com.space.sim.universe.Universe.ForceMethod;
 import com.space.sim.universe.Universe.IntegrationMethod;
 
 /**
  * This class is an implementation of {@link MenuTopic}.
  * It has a submenu focused on changing the current
- * integration method the simulation is using.
+ * integration method the simulation is using, along with
+ * how the gravity between planets is calculated.
  * 
  * @author David Krug
- * @version September 18, 2023
+ * @version October 17, 2026
  */
 @SuppressWarnings("serial")
 public class IntegrationMethods extends MenuTopic {
@@ -31,16 +34,55 @@ public class IntegrationMethods extends MenuTopic {
 	@Override
 	protected void turnOnSubMenu() {
 		
+		subMenu[subMenu.length - 8].addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				//The next method is found when the change is made, in case
+				//this button is pressed again before that happens
+				painter.changeUniverse(u -> u.setIntegrationMethod(nextOtherMethod()),
+						() -> enableProperButtons());
+			}
+		});
+		
+		
+		subMenu[subMenu.length - 7].setText("Change Opening Angle");
+		subMenu[subMenu.length - 7].addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				pauseButton.pause();
+                
+				Double angle = NumAskDialog.askForDoubleExclusiveBetween(0, 10,
+		    			"Enter a new Barnes-Hut Opening Angle:", "Input Opening Angle");
+				if (angle != null) {
+					painter.changeUniverse(u -> u.setOpeningAngle(angle));
+				}
+			}
+		});
+		
+		
+		subMenu[subMenu.length - 6].addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				painter.changeUniverse(u -> u.setForceMethod(nextForceMethod()),
+						() -> enableProperButtons());
+			}
+		});
+		
+		
 		//HTML is used for centering the text
 		subMenu[subMenu.length - 5].setText("<html><center>Reset Integration Settings</center><html>");
 		subMenu[subMenu.length - 5].setEnabled(true);
 		subMenu[subMenu.length - 5].addActionListener(new ActionListener() {
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				Planet.setTimeStep(0.1);
-				
-				painter.getUniverse().setIntegrationMethod(IntegrationMethod.EULER);
-				enableProperButtons();
+				painter.changeUniverse(u -> {
+					u.setPhysicsConfig(u.getPhysicsConfig()
+							.withTimeStep(PhysicsConfig.DEFAULT.getTimeStep()));
+					
+					u.setIntegrationMethod(IntegrationMethod.EULER);
+					u.setForceMethod(ForceMethod.DIRECT);
+					u.setOpeningAngle(Universe.STARTING_OPENING_ANGLE);
+				}, () -> enableProperButtons());
 			}
 		});
 
@@ -56,7 +98,8 @@ public class IntegrationMethods extends MenuTopic {
 				Double step = NumAskDialog.askForDoubleExclusiveBetween(0, 100,
 		    			"Enter a new Time Step:", "Input Time Step");
 				if (step != null) {
-					Planet.setTimeStep(step);
+					painter.changeUniverse(u -> u.setPhysicsConfig(
+							u.getPhysicsConfig().withTimeStep(step)));
 				}
 			}
 		});
@@ -67,9 +110,8 @@ public class IntegrationMethods extends MenuTopic {
 		subMenu[subMenu.length - 3].addActionListener(new ActionListener() {
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				painter.getUniverse().setIntegrationMethod(IntegrationMethod.EULER);
-				
-				enableProperButtons();				
+				painter.changeUniverse(u -> u.setIntegrationMethod(IntegrationMethod.EULER),
+						() -> enableProperButtons());
 			}
 		});
 		
@@ -78,9 +120,8 @@ public class IntegrationMethods extends MenuTopic {
 		subMenu[subMenu.length - 2].addActionListener(new ActionListener() {
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				painter.getUniverse().setIntegrationMethod(IntegrationMethod.VERTLET);
-				
-				enableProperButtons();
+				painter.changeUniverse(u -> u.setIntegrationMethod(IntegrationMethod.VERTLET),
+						() -> enableProperButtons());
 			}
 		});
 		
@@ -89,9 +130,8 @@ public class IntegrationMethods extends MenuTopic {
 		subMenu[subMenu.length - 1].addActionListener(new ActionListener() {
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				painter.getUniverse().setIntegrationMethod(IntegrationMethod.RUNGE_KUTTA_FOUR);
-				
-				enableProperButtons();
+				painter.changeUniverse(u -> u.setIntegrationMethod(IntegrationMethod.RUNGE_KUTTA_FOUR),
+						() -> enableProperButtons());
 			}
 		});
 		
@@ -102,8 +142,18 @@ public class IntegrationMethods extends MenuTopic {
 	 * This method disables the button in the submenu related to
 	 * the integration method currently in use.  The buttons
 	 * relating to the other integration methods are enabled.
+	 * The text of the button that switches the force method
+	 * is also updated.  While Hermite is used, the buttons for
+	 * the force method and opening angle are disabled, since
+	 * Hermite doesn't use them.
 	 */
 	private void enableProperButtons() {
+		//HTML is used for centering the text
+		subMenu[subMenu.length - 6].setText("<html><center>Switch to "
+				+ forceMethodName(nextForceMethod()) + " Gravity</center><html>");
+		subMenu[subMenu.length - 8].setText("<html><center>Switch to "
+				+ methodName(nextOtherMethod()) + "</center><html>");
+		
 		for (JButton b: subMenu) {
 			if (b.getText().isBlank()) {
 				b.setEnabled(false);
@@ -122,6 +172,97 @@ public class IntegrationMethods extends MenuTopic {
 			case RUNGE_KUTTA_FOUR:
 				subMenu[subMenu.length - 1].setEnabled(false);
 				break;
+			default:
+				if (nextOtherMethod() == painter.getUniverse().getIntegrationMethod()) {
+					subMenu[subMenu.length - 8].setEnabled(false);
+				}
+				break;
+		}
+		
+		//Hermite adds up every pair of planets itself, so
+		//the force method and opening angle aren't used
+		if (painter.getUniverse().getIntegrationMethod() == IntegrationMethod.HERMITE) {
+			subMenu[subMenu.length - 6].setText("<html><center>Hermite Always Uses "
+					+ forceMethodName(ForceMethod.DIRECT) + " Gravity</center><html>");
+			subMenu[subMenu.length - 6].setEnabled(false);
+			subMenu[subMenu.length - 7].setEnabled(false);
+		}
+	}
+	
+	
+	/**
+	 * Euler's method, Velocity Vertlet, and Runge-Kutta each have their own
+	 * button, while one more button cycles through the other integration
+	 * methods.  This method returns the first of those other methods that
+	 * comes after the one currently in use.
+	 * 
+	 * @return	The next integration method without its own button
+	 */
+	private IntegrationMethod nextOtherMethod() {
+		IntegrationMethod[] methods = IntegrationMethod.values();
+		int current = painter.getUniverse().getIntegrationMethod().ordinal();
+		
+		for (int i = 1; i <= methods.length; i++) {
+			IntegrationMethod next = methods[(current + i) % methods.length];
+			if (next != IntegrationMethod.EULER && next != IntegrationMethod.VERTLET
+					&& next != IntegrationMethod.RUNGE_KUTTA_FOUR) {
+				return next;
+			}
+		}
+		return painter.getUniverse().getIntegrationMethod();
+	}
+	
+	/**
+	 * @param method	The given integration method
+	 * @return			The name of the integration method shown to the user
+	 */
+	private static String methodName(IntegrationMethod method) {
+		switch (method) {
+			case LEAPFROG:
+				return "Leapfrog";
+			case HERMITE:
+				return "Hermite";
+			case ADAPTIVE_RUNGE_KUTTA:
+				return "Adaptive Runge-Kutta";
+			case BLOCK_LEAPFROG:
+				return "Block Time Step Leapfrog";
+			default:
+				return method.name();
+		}
+	}
+	
+	
+	/**
+	 * The force method button cycles through every force method.
+	 * This method returns the force method that comes after the
+	 * one currently in use.
+	 * 
+	 * @return	The next force method
+	 */
+	private ForceMethod nextForceMethod() {
+		ForceMethod[] methods = ForceMethod.values();
+		int current = painter.getUniverse().getForceMethod().ordinal();
+		return methods[(current + 1) % methods.length];
+	}
+	
+	/**
+	 * @param method	The given force method
+	 * @return			The name of the force method shown to the user
+	 */
+	private static String forceMethodName(ForceMethod method) {
+		switch (method) {
+			case DIRECT:
+				return "Direct";
+			case SYMMETRIC_DIRECT:
+				return "Symmetric Direct";
+			case TILED_DIRECT:
+				return "Tiled Direct";
+			case VECTORIZED_DIRECT:
+				return "Vectorized Direct";
+			case BARNES_HUT:
+				return "Barnes-Hut";
+			default:
+				return method.name();
 		}
 	}
 }
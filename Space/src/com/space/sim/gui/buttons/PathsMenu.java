@@ -35,7 +35,7 @@ public class PathsMenu extends MenuTopic {
             public void actionPerformed(ActionEvent e) {
 				Painter.Setting.PAUSE_PATHS.flip();
 				if (Painter.Setting.PAUSE_PATHS.isOn()) {
-		    		painter.getUniverse().getPaths().finishAllPaths();
+		    		painter.changeUniverse(u -> u.getPaths().finishAllPaths());
 		    	}
             	
             	updateMenuButtonText(subMenu.length - 3);
@@ -50,9 +50,11 @@ public class PlanetCreation extends MenuTopic {
             public void actionPerformed(ActionEvent e) {
 				pauseButton.pause();
                 
-                painter.getUniverse().addPlanet(PlanetDialog.newPlanetDialog(painter.getUniverse()));
+                double[] planet = PlanetDialog.newPlanetDialog(painter.getUniverse());
                 
-                if (painter.getUniverse().getNumOfPlanets() > 0) {
+                //The planet is null if the user canceled
+                if (planet != null) {
+                	painter.changeUniverse(u -> u.addPlanet(planet));
                     judgeDay.setEnabled(true);
                 }
             }
@@ -4,7 +4,6 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
 import com.space.sim.gui.dialogbox.NumAskDialog;
-import com.space.sim.universe.Planet;
 
 /**
  * This class is an implementation of {@link MenuTopic}.
@@ -59,17 +58,18 @@ public class VariableEdit extends MenuTopic {
         
 		
 		//We use html so that the text has a line break and is centered
-		subMenu[subMenu.length - 3].setText("<html><center>Alter the Calculations Per Frame</center><html>");
+		subMenu[subMenu.length - 3].setText("<html><center>Alter the Calculations Per Second</center><html>");
 		
         subMenu[subMenu.length - 3].addActionListener(new ActionListener() {
         	@Override
             public void actionPerformed(ActionEvent e) {
         		pauseButton.pause();
                 
-        		Integer calcPerFrame = NumAskDialog.askForIntInclusiveBetween(1, 1000,
-            			"Enter the calculations per frame", "Input Calculations per Frame");
-        		if (calcPerFrame != null) {
-        			painter.setCalcsPerFrame(calcPerFrame);
+        		Integer stepsPerSec = NumAskDialog.askForIntInclusiveBetween(0, 100000,
+            			"Enter the calculations per second (0 for as many as possible)",
+            			"Input Calculations per Second");
+        		if (stepsPerSec != null) {
+        			painter.setStepsPerSec(stepsPerSec);
         		}
             }
         });
@@ -85,7 +85,8 @@ public class VariableEdit extends MenuTopic {
         		Double gravConst = NumAskDialog.askForDoubleExclusiveBetween(-1000000, 1000000, 
             			"Enter the Strength of Gravity:", "Input Gravitational Constant");
         		if (gravConst != null) {
-        			Planet.setGravConstant(gravConst);
+        			painter.changeUniverse(u -> u.setPhysicsConfig(
+        					u.getPhysicsConfig().withGravConstant(gravConst)));
         		}
             }
         });
@@ -101,7 +102,8 @@ public class VariableEdit extends MenuTopic {
         		Double density = NumAskDialog.askForDoubleExclusiveBetween(0, 100000,
             			"Enter a new Universal Density (mass/pixel):", "Input Density");
         		if (density != null) {
-        			painter.getUniverse().setAndApplyDefaultDensity(density);
+        			painter.changeUniverse(u -> u.setPhysicsConfig(
+        					u.getPhysicsConfig().withDefaultDensity(density)));
         		}
             }
         });
@@ -0,0 +1,280 @@
+package com.space.sim.main;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.space.sim.universe.Planet;
+import com.space.sim.universe.Universe;
+
+/**
+ * Runs many copies of the same scene at once without a window, each loaded
+ * with a different seed, and gathers statistics about how they end up.  This
+ * is meant for presets that place planets randomly, like Create-a-Star, where
+ * a single run says little about what usually happens.
+ * <p>
+ * Each copy is a separate {@link Universe}, so each has its own physical
+ * constants and nothing is shared between them.  The copies are run by a
+ * pool with one thread per processor, and each copy only uses the thread
+ * it is on.  Small universes are packed together, so that each task the pool
+ * runs holds at least about {@value #PLANETS_PER_TASK} planets, and the time
+ * spent handing out tasks stays small next to the time spent on them.
+ * <p>
+ * As each copy finishes, its result is put on a queue, and the thread that
+ * started the runs writes it and adds it to the statistics right away.
+ * <p>
+ * This takes the same options as {@link HeadlessRunner}, except for
+ * {@code every}, and {@code seed} means something different.  The
+ * options it adds or changes are:
+ * <ul>
+ * <li>{@code runs}: The number of copies, 100 by default.</li>
+ * <li>{@code seed}: The seed of the first copy, 1 by default.  Each copy
+ * after it uses the next seed.</li>
+ * <li>{@code threads}: The number of threads in the pool, which is the
+ * number of processors by default.</li>
+ * </ul>
+ * The default preset is the Create-a-Star preset of the chosen dimension, if
+ * there is one.  One CSV line is written for each copy, in the order they
+ * finish, and the statistics of every copy are written to the standard error.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ */
+public class EnsembleRunner {
+
+	private static final int PLANETS_PER_TASK = 2048;
+
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		Map<String, String> options = HeadlessRunner.parseOptions(args);
+
+		int dimension = Integer.parseInt(options.getOrDefault("dimension", "2"));
+		int runs = Integer.parseInt(options.getOrDefault("runs", "100"));
+		long firstSeed = Long.parseLong(options.getOrDefault("seed", "1"));
+		int steps = Integer.parseInt(options.getOrDefault("steps", "1000"));
+		int threads = Integer.parseInt(options.getOrDefault("threads",
+				String.valueOf(Runtime.getRuntime().availableProcessors())));
+		if (runs < 1) {
+			throw new IllegalArgumentException("runs is " + runs + " when it should be at least 1");
+		}
+		if (steps < 0) {
+			throw new IllegalArgumentException("steps is " + steps + " when it should be at least 0");
+		}
+		if (threads < 1) {
+			throw new IllegalArgumentException("threads is " + threads + " when it should be at least 1");
+		}
+
+		if (!options.containsKey("scene") && !options.containsKey("preset")) {
+			options.put("preset", String.valueOf(createAStarPreset(dimension)));
+		}
+
+		//Every copy has the same number of planets, so one copy
+		//is loaded ahead of time to see how many to pack together
+		Universe<?> sample = createCopy(dimension, options, firstSeed);
+		int planets = Math.max(1, sample.getNumOfPlanets());
+		int runsPerTask = Math.max(1, Math.min(PLANETS_PER_TASK / planets,
+				(runs + threads - 1) / threads));
+
+		LinkedBlockingQueue<RunResult> results = new LinkedBlockingQueue<>();
+		ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+			Thread thread = new Thread(task, "Ensemble");
+			//A failed copy shouldn't keep the program open until the others finish
+			thread.setDaemon(true);
+			return thread;
+		});
+		long start = System.nanoTime();
+
+		for (int first = 0; first < runs; first += runsPerTask) {
+			int from = first;
+			int to = Math.min(runs, first + runsPerTask);
+
+			pool.execute(() -> {
+				for (int run = from; run < to; run++) {
+					long seed = firstSeed + run;
+					try {
+						results.add(runCopy(dimension, options, seed, steps));
+					} catch (Exception | Error e) {
+						results.add(new RunResult(seed, e));
+					}
+				}
+			});
+		}
+		pool.shutdown();
+
+		Statistics stats = new Statistics();
+		try (PrintWriter out = HeadlessRunner.openOutput(options.get("out"))) {
+			out.println("seed,planetsLeft,largestMass,kineticEnergy,seconds");
+
+			for (int i = 0; i < runs; i++) {
+				RunResult result = results.take();
+				if (result.failure != null) {
+					pool.shutdownNow();
+					throw new IllegalStateException("The copy with seed "
+							+ result.seed + " failed", result.failure);
+				}
+
+				out.println(result.seed + "," + result.planetsLeft + "," + result.largestMass
+						+ "," + result.kineticEnergy + "," + result.seconds);
+				stats.add(result);
+			}
+		}
+
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.err.printf("%d copies of %d planets, %d steps each, %d per task on %d threads,"
+				+ " in %.3f s%n", runs, planets, steps, runsPerTask, threads, seconds);
+		stats.print();
+	}
+
+
+	/**
+	 * @param dimension	The number of dimensions
+	 * @return			The number of the Create-a-Star preset for that many
+	 * 					dimensions, or 1 if there isn't one
+	 */
+	private static int createAStarPreset(int dimension) {
+		Universe<?> universe = HeadlessRunner.createUniverse(dimension);
+		for (int i = 1; !universe.getPresetName(i).isEmpty(); i++) {
+			if (universe.getPresetName(i).equals("Create-a-Star")) {
+				return i;
+			}
+		}
+		return 1;
+	}
+
+	/**
+	 * Makes one copy of the scene, loaded with the given seed.
+	 *
+	 * @param dimension	The number of dimensions
+	 * @param options	The value of each option, by name
+	 * @param seed		The seed used by the preset
+	 * @return			The copy
+	 * @throws IOException	If the scene file can't be read
+	 */
+	private static Universe<?> createCopy(int dimension, Map<String, String> options, long seed)
+			throws IOException {
+		Universe<?> universe = HeadlessRunner.createUniverse(dimension);
+		universe.setPresetSeed(seed);
+		HeadlessRunner.loadPlanets(universe, options);
+		HeadlessRunner.applySettings(universe, options);
+
+		//The pool already keeps every processor busy
+		universe.setMultithreaded(false);
+		return universe;
+	}
+
+	/**
+	 * Makes one copy of the scene and updates it the given number of times.
+	 *
+	 * @param dimension	The number of dimensions
+	 * @param options	The value of each option, by name
+	 * @param seed		The seed used by the preset
+	 * @param steps		The number of updates
+	 * @return			How the copy ended up
+	 * @throws IOException	If the scene file can't be read
+	 */
+	private static RunResult runCopy(int dimension, Map<String, String> options,
+			long seed, int steps) throws IOException {
+		long start = System.nanoTime();
+
+		Universe<?> universe = createCopy(dimension, options, seed);
+		for (int i = 0; i < steps; i++) {
+			universe.update();
+		}
+
+		double largestMass = 0;
+		double kineticEnergy = 0;
+		for (Planet<?> p: universe.getPlanets()) {
+			largestMass = Math.max(largestMass, p.getMass());
+			kineticEnergy += 0.5 * p.getMass() * p.getVelocity().lengthSquared();
+		}
+
+		return new RunResult(seed, universe.getNumOfPlanets(), largestMass,
+				kineticEnergy, (System.nanoTime() - start) / 1e9);
+	}
+
+
+
+	/**
+	 * How one copy ended up, or why it failed.
+	 *
+	 * @author David Krug
+	 * @version October 17, 2026
+	 */
+	private static final class RunResult {
+
+		private final long seed;
+		private final int planetsLeft;
+		private final double largestMass;
+		private final double kineticEnergy;
+		private final double seconds;
+
+		private final Throwable failure;
+
+
+		private RunResult(long seed, int planetsLeft, double largestMass,
+				double kineticEnergy, double seconds) {
+			this.seed = seed;
+			this.planetsLeft = planetsLeft;
+			this.largestMass = largestMass;
+			this.kineticEnergy = kineticEnergy;
+			this.seconds = seconds;
+			failure = null;
+		}
+
+		private RunResult(long seed, Throwable failure) {
+			this.seed = seed;
+			planetsLeft = 0;
+			largestMass = Double.NaN;
+			kineticEnergy = Double.NaN;
+			seconds = Double.NaN;
+			this.failure = failure;
+		}
+	}
+
+
+	/**
+	 * Keeps the mean, standard deviation, smallest, and largest value of each
+	 * result as they are added, without keeping the results themselves.  The
+	 * mean and variance are updated with Welford's method.
+	 *
+	 * @author David Krug
+	 * @version October 17, 2026
+	 */
+	private static final class Statistics {
+
+		private static final String[] NAMES = {"planetsLeft", "largestMass", "kineticEnergy", "seconds"};
+
+		private int count;
+		private final double[] mean = new double[NAMES.length];
+		private final double[] squaredDiffs = new double[NAMES.length];
+		private final double[] min = new double[NAMES.length];
+		private final double[] max = new double[NAMES.length];
+
+
+		private void add(RunResult result) {
+			double[] values = {result.planetsLeft, result.largestMass,
+					result.kineticEnergy, result.seconds};
+			count++;
+
+			for (int k = 0; k < NAMES.length; k++) {
+				double diff = values[k] - mean[k];
+				mean[k] += diff / count;
+				squaredDiffs[k] += diff * (values[k] - mean[k]);
+
+				min[k] = (count == 1) ? values[k] : Math.min(min[k], values[k]);
+				max[k] = (count == 1) ? values[k] : Math.max(max[k], values[k]);
+			}
+		}
+
+		private void print() {
+			for (int k = 0; k < NAMES.length; k++) {
+				double deviation = (count > 1) ? Math.sqrt(squaredDiffs[k] / (count - 1)) : 0;
+				System.err.printf("  %-14s mean %.6g  std %.6g  min %.6g  max %.6g%n",
+						NAMES[k], mean[k], deviation, min[k], max[k]);
+			}
+		}
+	}
+}
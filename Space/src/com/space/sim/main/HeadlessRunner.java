@@ -0,0 +1,279 @@
+package com.space.sim.main;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.space.sim.universe.Planet;
+import com.space.sim.universe.Universe;
+import com.space.sim.universe.Universe.ForceMethod;
+import com.space.sim.universe.Universe.IntegrationMethod;
+import com.space.sim.universe.Vector;
+import com.space.sim.universe._2d.Universe2D;
+import com.space.sim.universe._3d.Universe3D;
+import com.space.sim.universe._4d.Universe4D;
+import com.space.sim.universe.nd.UniverseND;
+
+/**
+ * Runs a universe without a window, as fast as it can be updated, and writes
+ * where its planets end up.  Nothing is painted, so this doesn't need a display
+ * and can be used for long runs on machines without one.
+ * <p>
+ * The options are given as arguments of the form {@code name=value}:
+ * <ul>
+ * <li>{@code dimension}: The number of dimensions, 2 by default.  2, 3, and 4
+ * use {@link Universe2D}, {@link Universe3D}, and {@link Universe4D}, and any
+ * other number uses a {@link UniverseND}.</li>
+ * <li>{@code preset}: The preset that is loaded, as numbered by
+ * {@link Universe#loadPresets(int)}.  1 by default.</li>
+ * <li>{@code scene}: A file of planets that is loaded instead of a preset.
+ * Each line holds the numbers given to {@link Universe#addPlanet(double[])},
+ * separated by commas or spaces.  Blank lines and lines starting with
+ * {@code #} are skipped.</li>
+ * <li>{@code seed}: The seed given to {@link Universe#setPresetSeed(long)},
+ * so that presets that place planets randomly place them the same way every
+ * run.  If it isn't given, the seeds those presets pick are written to the
+ * standard error.</li>
+ * <li>{@code steps}: The number of updates, 1000 by default.</li>
+ * <li>{@code integrator}: The name of an {@link IntegrationMethod}.</li>
+ * <li>{@code force}: The name of a {@link ForceMethod}.</li>
+ * <li>{@code timeStep}: The time step of each update.</li>
+ * <li>{@code collision}: {@code true} or {@code false}.</li>
+ * <li>{@code every}: If given, the planets are also written after every
+ * this many updates, instead of only at the end.</li>
+ * <li>{@code out}: The file the results are written to.  They are written
+ * to the standard output if this isn't given.</li>
+ * </ul>
+ * The results are written as CSV, with one line per planet each time they are
+ * written.  How long the run took is written to the standard error.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ */
+public class HeadlessRunner {
+
+	public static void main(String[] args) throws IOException {
+		Map<String, String> options = parseOptions(args);
+
+		int dimension = Integer.parseInt(options.getOrDefault("dimension", "2"));
+		Universe<?> universe = createUniverse(dimension);
+		if (options.containsKey("seed")) {
+			universe.setPresetSeed(Long.parseLong(options.get("seed")));
+		}
+		loadPlanets(universe, options);
+		applySettings(universe, options);
+
+		int steps = Integer.parseInt(options.getOrDefault("steps", "1000"));
+		int every = Integer.parseInt(options.getOrDefault("every", "0"));
+		if (steps < 0) {
+			throw new IllegalArgumentException("steps is " + steps
+					+ " when it should be at least 0");
+		}
+		if (every < 0) {
+			throw new IllegalArgumentException("every is " + every
+					+ " when it should be at least 0");
+		}
+
+		try (PrintWriter out = openOutput(options.get("out"))) {
+			writeHeader(out, dimension);
+
+			long start = System.nanoTime();
+			for (int step = 1; step <= steps; step++) {
+				universe.update();
+
+				if (every > 0 && step % every == 0 && step != steps) {
+					writePlanets(out, step, universe.getPlanets());
+				}
+			}
+			double seconds = (System.nanoTime() - start) / 1e9;
+
+			writePlanets(out, steps, universe.getPlanets());
+
+			System.err.printf("%d steps in %.3f s (%.1f steps per second), %d planets left%n",
+					steps, seconds, steps / seconds, universe.getNumOfPlanets());
+		}
+	}
+
+
+	/**
+	 * @param args	Arguments of the form {@code name=value}
+	 * @return		The value of each option, by name
+	 */
+	static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg: args) {
+			int equals = arg.indexOf('=');
+			if (equals <= 0) {
+				throw new IllegalArgumentException("The argument \"" + arg
+						+ "\" should be of the form name=value");
+			}
+			options.put(arg.substring(0, equals), arg.substring(equals + 1));
+		}
+		return options;
+	}
+
+	/**
+	 * @param dimension	The number of dimensions
+	 * @return			An empty universe with that many dimensions
+	 */
+	static Universe<?> createUniverse(int dimension) {
+		if (dimension < 1) {
+			throw new IllegalArgumentException("dimension is " + dimension
+					+ " when it should be at least 1");
+		}
+
+		Universe<?> universe;
+		switch (dimension) {
+			case 2:
+				universe = new Universe2D();
+				break;
+			case 3:
+				universe = new Universe3D();
+				break;
+			case 4:
+				universe = new Universe4D();
+				break;
+			default:
+				universe = new UniverseND(dimension);
+				break;
+		}
+
+		//Some universes start with a preset loaded
+		universe.removeAllPlanets();
+		return universe;
+	}
+
+	/**
+	 * Loads the scene file given by the {@code scene} option, or the preset
+	 * given by the {@code preset} option if there is no scene file.
+	 *
+	 * @param universe	The universe the planets are loaded into
+	 * @param options	The value of each option, by name
+	 * @throws IOException	If the scene file can't be read
+	 */
+	static void loadPlanets(Universe<?> universe, Map<String, String> options) throws IOException {
+		if (options.containsKey("scene")) {
+			loadScene(universe, Path.of(options.get("scene")));
+		} else {
+			universe.loadPresets(Integer.parseInt(options.getOrDefault("preset", "1")));
+		}
+	}
+
+	/**
+	 * Applies the {@code integrator}, {@code force}, {@code timeStep},
+	 * and {@code collision} options to the universe.
+	 *
+	 * @param universe	The universe the options are applied to
+	 * @param options	The value of each option, by name
+	 */
+	static void applySettings(Universe<?> universe, Map<String, String> options) {
+		if (options.containsKey("integrator")) {
+			universe.setIntegrationMethod(IntegrationMethod.valueOf(options.get("integrator")));
+		}
+		if (options.containsKey("force")) {
+			universe.setForceMethod(ForceMethod.valueOf(options.get("force")));
+		}
+		if (options.containsKey("timeStep")) {
+			universe.setPhysicsConfig(universe.getPhysicsConfig()
+					.withTimeStep(Double.parseDouble(options.get("timeStep"))));
+		}
+		if (options.containsKey("collision")) {
+			universe.setCollisionEnabled(Boolean.parseBoolean(options.get("collision")));
+		}
+	}
+
+	/**
+	 * Adds every planet in the given file to the universe.
+	 *
+	 * @param universe	The universe the planets are added to
+	 * @param scene		A file with one planet per line, as described above
+	 * @throws IOException	If the file can't be read
+	 */
+	static void loadScene(Universe<?> universe, Path scene) throws IOException {
+		universe.removeAllPlanets();
+
+		for (String line: Files.readAllLines(scene, StandardCharsets.UTF_8)) {
+			line = line.strip();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+
+			String[] numbers = line.split("[,\\s]+");
+			double[] stats = new double[numbers.length];
+			for (int i = 0; i < numbers.length; i++) {
+				stats[i] = Double.parseDouble(numbers[i]);
+			}
+			universe.addPlanet(stats);
+		}
+	}
+
+
+	/**
+	 * @param file	The file the results are written to, or {@code null}
+	 * 				to write them to the standard output
+	 * @return		A writer for the results
+	 * @throws IOException	If the file can't be opened
+	 */
+	static PrintWriter openOutput(String file) throws IOException {
+		if (file == null) {
+			return new PrintWriter(new BufferedWriter(
+					new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+		}
+		return new PrintWriter(Files.newBufferedWriter(Path.of(file), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Writes the names of the columns written by {@link #writePlanets}.
+	 *
+	 * @param out		Where the names are written
+	 * @param dimension	The number of dimensions
+	 */
+	static void writeHeader(PrintWriter out, int dimension) {
+		out.print("step,planet,mass,radius");
+		for (int a = 0; a < dimension; a++) {
+			out.print(",x" + a);
+		}
+		for (int a = 0; a < dimension; a++) {
+			out.print(",v" + a);
+		}
+		out.println();
+	}
+
+	/**
+	 * Writes one line for each planet, with its mass, radius, position, and velocity.
+	 *
+	 * @param out		Where the planets are written
+	 * @param step		The number of updates done so far
+	 * @param planets	The planets written
+	 */
+	static <V extends Vector<V>> void writePlanets(PrintWriter out, int step,
+			List<? extends Planet<V>> planets) {
+		for (int i = 0; i < planets.size(); i++) {
+			Planet<V> p = planets.get(i);
+
+			out.print(step);
+			out.print(',');
+			out.print(i);
+			out.print(',');
+			out.print(p.getMass());
+			out.print(',');
+			out.print(p.getRad());
+			for (int a = 0; a < p.getCoords().dimension(); a++) {
+				out.print(',');
+				out.print(p.getCoords().getComponent(a));
+			}
+			for (int a = 0; a < p.getVelocity().dimension(); a++) {
+				out.print(',');
+				out.print(p.getVelocity().getComponent(a));
+			}
+			out.println();
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package com.space.sim.universe;
+
+import java.util.stream.IntStream;
+
+/**
+ * A {@link ForceSolver} that approximates the gravity on each planet using
+ * a {@link BarnesHutTree}.  The tree is built once per step in
+ * {@link #prepare(ParticleStore)}, and is then shared by every acceleration
+ * calculation in that step.  The last tree built can also be used to find
+ * collisions.  See {@link TreeBroadPhase}.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ * @param <V> The type of vector the planets use
+ */
+public class BarnesHutSolver<V extends Vector<V>> implements ForceSolver<V> {
+
+	private double openingAngle;
+
+	private BarnesHutTree<V> tree;
+
+	//Each thread gets its own scratch arrays for the position of the planet
+	//and the running sum, so finding an acceleration doesn't make new arrays
+	private final ThreadLocal<double[][]> scratch =
+			ThreadLocal.withInitial(() -> new double[2][0]);
+
+
+	/**
+	 * @param openingAngle	The opening angle of the tree.  See {@link BarnesHutTree}.
+	 */
+	public BarnesHutSolver(double openingAngle) {
+		setOpeningAngle(openingAngle);
+	}
+
+
+	@Override
+	public void prepare(ParticleStore<V> store) {
+		tree = new BarnesHutTree<>(store, openingAngle);
+	}
+
+	@Override
+	public void calcAccels(ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant, boolean parallel) {
+		IntStream indices = IntStream.range(0, store.size());
+		if (parallel) {
+			indices = indices.parallel();
+		}
+
+		int dimension = store.dimension();
+		indices.forEach(i -> tree.calcAccel(i, positions, gravConstant,
+				accels, scratchFor(dimension)));
+	}
+
+	@Override
+	public void calcAccels(ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant, boolean parallel,
+			int[] targets, int targetCount) {
+		IntStream indices = IntStream.range(0, targetCount);
+		if (parallel) {
+			indices = indices.parallel();
+		}
+
+		int dimension = store.dimension();
+		indices.forEach(k -> tree.calcAccel(targets[k], positions, gravConstant,
+				accels, scratchFor(dimension)));
+	}
+
+	/**
+	 * @param dimension	The number of dimensions
+	 * @return			This thread's scratch arrays, which each hold at
+	 * 					least {@code dimension} values
+	 */
+	private double[][] scratchFor(int dimension) {
+		double[][] temp = scratch.get();
+		if (temp[0].length < dimension) {
+			temp[0] = new double[dimension];
+			temp[1] = new double[dimension];
+		}
+		return temp;
+	}
+
+
+	/**
+	 * Sets the opening angle.  The change takes effect the next time
+	 * {@link #prepare(ParticleStore)} is called.
+	 *
+	 * @param openingAngle	The new opening angle
+	 */
+	public void setOpeningAngle(double openingAngle) {
+		if (openingAngle >= 0) {
+    		this.openingAngle = openingAngle;
+    	} else {
+    		throw new IllegalArgumentException("Opening angle is " + openingAngle
+        			+ " when it should be at least zero");
+    	}
+	}
+
+	public double getOpeningAngle() {
+		return openingAngle;
+	}
+
+	/**
+	 * @return	The tree built by the last call to {@link #prepare(ParticleStore)},
+	 * 			or {@code null} if it hasn't been called yet
+	 */
+	BarnesHutTree<V> getTree() {
+		return tree;
+	}
+}
@@ -0,0 +1,602 @@
+package com.space.sim.universe;
+
+import java.util.Arrays;
+
+/**
+ * This class approximates the gravity of a group of planets using the
+ * Barnes-Hut algorithm.  The planets are sorted into a tree where every
+ * node is a box (a square in two dimensions, a cube in three dimensions,
+ * and so on) that is split into 2<sup>n</sup> smaller boxes, where n is
+ * the dimension.  In two dimensions this is a quadtree, and in three
+ * dimensions it is an octree.
+ * <p>
+ * When finding the gravity at a point, a node that is far enough away is
+ * treated as a single planet located at the node's center of mass.  How far
+ * is "far enough" is decided by the opening angle theta: a node is only used as a
+ * whole if its width divided by its distance to the point is less than theta.
+ * A theta of zero gives the same result as adding up the gravity of every planet,
+ * while larger values are faster but less accurate.  The tree takes
+ * O(n log n) time to build, and each gravity calculation takes O(log n) time.
+ * More information can be found on
+ * <a href="https://en.wikipedia.org/wiki/Barnes%E2%80%93Hut_simulation">Wikipedia</a>.
+ * <p>
+ * The tree can also be used to find planets that might be touching, so that
+ * collision checks don't need a second tree.  {@link #fitBoxes(double[][], double[][])}
+ * gives each node a box around every planet in it, including their radius.
+ * Two nodes whose boxes don't overlap can't hold a pair of planets whose
+ * boxes overlap, so {@link #findOverlaps} skips those pairs of nodes entirely.
+ * 
+ * @author David Krug
+ * @version October 17, 2026
+ * @param <V> The type of vector the planets use
+ */
+final class BarnesHutTree<V extends Vector<V>> {
+
+	//Once a node is this deep, planets are no longer split up.  This prevents
+	//planets sharing the same coordinates from splitting the tree forever.
+	private static final int MAX_DEPTH = 48;
+
+	private final int dimension;
+	private final double thetaSquared;
+
+	private final double[][] coords;
+	private final double[] mass;
+	private final int size;
+
+	private final Node root;
+
+
+	/**
+	 * Builds a tree out of the planets in the given store.  Planets with a
+	 * mass of zero have no gravity, so they are left out of the tree.
+	 * 
+	 * @param store	The planets whose gravity the tree approximates
+	 * @param theta	The opening angle
+	 */
+	BarnesHutTree(ParticleStore<V> store, double theta) {
+		this.thetaSquared = theta * theta;
+		this.dimension = store.dimension();
+		this.coords = store.getCoords();
+		this.mass = store.getMass();
+		this.size = store.size();
+
+		if (store.size() == 0) {
+			root = null;
+			return;
+		}
+
+
+		//Finding a box that contains every planet
+		double[] min = new double[dimension];
+		double[] max = new double[dimension];
+		Arrays.fill(min, Double.POSITIVE_INFINITY);
+		Arrays.fill(max, Double.NEGATIVE_INFINITY);
+
+		for (int i = 0; i < store.size(); i++) {
+			for (int a = 0; a < dimension; a++) {
+				min[a] = Math.min(min[a], coords[a][i]);
+				max[a] = Math.max(max[a], coords[a][i]);
+			}
+		}
+
+		double halfWidth = 0;
+		double[] center = new double[dimension];
+		for (int a = 0; a < dimension; a++) {
+			center[a] = (min[a] + max[a]) / 2;
+			halfWidth = Math.max(halfWidth, (max[a] - min[a]) / 2);
+		}
+		//Padding the box slightly so planets on the edges are inside of it
+		halfWidth = (halfWidth * 1.0001) + 1e-9;
+
+
+		root = new Node(center, halfWidth, 0);
+		for (int i = 0; i < store.size(); i++) {
+			if (mass[i] != 0) {
+				root.insert(i);
+			}
+		}
+		root.finish();
+	}
+
+
+
+	/**
+	 * Calculates the acceleration due to gravity that planet {@code i} would
+	 * feel if it were located at {@code positions[axis][i]}, and stores the
+	 * result in {@code accels[axis][i]}.  The planet's own gravity is ignored.
+	 * 
+	 * @param i				The index of the planet the gravity acts on
+	 * @param positions		Where each planet is located
+	 * @param gravConstant	The gravitational constant
+	 * @param accels		Where the acceleration of each planet is stored
+	 * @param temp			Two scratch arrays, which must each hold at least
+	 * 						as many values as there are dimensions
+	 */
+	void calcAccel(int i, double[][] positions, double gravConstant,
+			double[][] accels, double[][] temp) {
+		double[] pos = temp[0];
+		double[] sum = temp[1];
+		for (int a = 0; a < dimension; a++) {
+			pos[a] = positions[a][i];
+			sum[a] = 0;
+		}
+
+		if (root != null) {
+			root.addAccel(i, pos, sum);
+		}
+
+		for (int a = 0; a < dimension; a++) {
+			accels[a][i] = sum[a] * gravConstant;
+		}
+	}
+
+
+
+	/**
+	 * Gives every node a box that holds the boxes of all of its planets.
+	 * Planet {@code i}'s box goes from {@code lower[axis][i]} to
+	 * {@code upper[axis][i]} along each axis.  The planets can be anywhere,
+	 * not just where they were when the tree was built, but the closer they
+	 * are to those spots, the more nodes can be skipped by {@link #findOverlaps}.
+	 * 
+	 * @param lower	The smallest corner of each planet's box
+	 * @param upper	The largest corner of each planet's box
+	 */
+	void fitBoxes(double[][] lower, double[][] upper) {
+		if (root != null) {
+			root.fitBox(lower, upper);
+		}
+	}
+
+	/**
+	 * The search done by {@link #findOverlaps} is split into this many parts,
+	 * one for each child of the root, so that they can be done by different threads.
+	 * 
+	 * @return	The number of parts
+	 */
+	int overlapParts() {
+		return (root == null || root.children == null) ? 1 : root.children.length;
+	}
+
+	/**
+	 * Finds the pairs of planets in the tree whose boxes overlap, and adds
+	 * them to the given chunk.  Doing every part from 0 to
+	 * {@link #overlapParts()} finds every pair exactly once.
+	 * {@link #fitBoxes(double[][], double[][])} must have been called with
+	 * the same boxes first.
+	 * 
+	 * @param part		Which part of the search is done
+	 * @param lower		The smallest corner of each planet's box
+	 * @param upper		The largest corner of each planet's box
+	 * @param pairs		Where the pairs are added, with the smaller index first
+	 * @param chunk		The chunk the pairs are added to
+	 */
+	void findOverlaps(int part, double[][] lower, double[][] upper,
+			CandidatePairs pairs, int chunk) {
+		if (root == null) {
+			return;
+		} else if (root.children == null) {
+			root.findOverlaps(lower, upper, pairs, chunk);
+			return;
+		}
+
+		//Each part is the pairs within one child, and between it and the children after it
+		Node child = root.children[part];
+		if (child != null) {
+			child.findOverlaps(lower, upper, pairs, chunk);
+			for (int k = part + 1; k < root.children.length; k++) {
+				if (root.children[k] != null) {
+					child.findOverlaps(root.children[k], lower, upper, pairs, chunk);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the planets in the tree whose boxes overlap the box of planet
+	 * {@code i}, which must not be in the tree, and adds each pair to the
+	 * given chunk.  {@link #fitBoxes(double[][], double[][])} must have been
+	 * called with the same boxes first.
+	 * 
+	 * @param i			The index of the planet being checked
+	 * @param lower		The smallest corner of each planet's box
+	 * @param upper		The largest corner of each planet's box
+	 * @param pairs		Where the pairs are added, with the smaller index first
+	 * @param chunk		The chunk the pairs are added to
+	 */
+	void findOverlapsWith(int i, double[][] lower, double[][] upper,
+			CandidatePairs pairs, int chunk) {
+		if (root != null) {
+			root.findOverlapsWith(i, lower, upper, pairs, chunk);
+		}
+	}
+
+	/**
+	 * @param i	The index of a planet
+	 * @return	If the planet is in the tree, which is true unless it has no mass
+	 */
+	boolean isInTree(int i) {
+		return mass[i] != 0;
+	}
+
+	/**
+	 * @return	The number of planets in the store when the tree was built
+	 */
+	int size() {
+		return size;
+	}
+
+
+
+	/**
+	 * A single box within the tree.  A node is either a leaf, which holds
+	 * planets directly, or a branch, which holds smaller nodes.
+	 * 
+	 * @author David Krug
+	 * @version October 17, 2026
+	 */
+	private final class Node {
+
+		private final double[] center;
+		private final double halfWidth;
+		private final int depth;
+
+		private double totalMass;
+		//Planets with negative mass are allowed, so the center of mass is
+		//found using the absolute value of each mass to keep it inside the box
+		private double unsignedMass;
+		private final double[] massCenter;
+
+		private Node[] children;
+		//The indices of the planets in this node, if it is a leaf
+		private int[] planets;
+		private int planetCount;
+
+		//The box around every planet in this node, including their radius.  See fitBox().
+		private double[] boxLower;
+		private double[] boxUpper;
+
+
+		private Node(double[] center, double halfWidth, int depth) {
+			this.center = center;
+			this.halfWidth = halfWidth;
+			this.depth = depth;
+			massCenter = new double[dimension];
+		}
+
+
+		/**
+		 * Adds the given planet to this node, or one of its children.
+		 * 
+		 * @param p	The index of the planet being added
+		 */
+		private void insert(int p) {
+			totalMass += mass[p];
+			unsignedMass += Math.abs(mass[p]);
+			for (int a = 0; a < dimension; a++) {
+				massCenter[a] += coords[a][p] * Math.abs(mass[p]);
+			}
+
+			if (children != null) {
+				childFor(p).insert(p);
+			} else if (planets == null) {
+				planets = new int[] {p};
+				planetCount = 1;
+			} else if (depth >= MAX_DEPTH) {
+				if (planetCount == planets.length) {
+					planets = Arrays.copyOf(planets, planetCount * 2);
+				}
+				planets[planetCount++] = p;
+			} else {
+				//This leaf is full, so its planets are pushed down into children
+				//Node is an inner class of a generic class, so an array of it can only
+				//be made with a wildcard type, and then cast
+				@SuppressWarnings("unchecked")
+				Node[] children = (Node[]) new BarnesHutTree<?>.Node[1 << dimension];
+				this.children = children;
+				for (int k = 0; k < planetCount; k++) {
+					childFor(planets[k]).insert(planets[k]);
+				}
+				planets = null;
+				planetCount = 0;
+				childFor(p).insert(p);
+			}
+		}
+
+		/**
+		 * Returns the child that the given planet belongs in, creating it if needed.
+		 * 
+		 * @param p	The index of the given planet
+		 * @return	The child node which contains the planet's coordinates
+		 */
+		private Node childFor(int p) {
+			int index = 0;
+			for (int a = 0; a < dimension; a++) {
+				if (coords[a][p] >= center[a]) {
+					index |= 1 << a;
+				}
+			}
+
+			if (children[index] == null) {
+				double quarter = halfWidth / 2;
+				double[] childCenter = new double[dimension];
+				for (int a = 0; a < dimension; a++) {
+					childCenter[a] = center[a] + (((index >> a) & 1) == 1 ? quarter : -quarter);
+				}
+				children[index] = new Node(childCenter, quarter, depth + 1);
+			}
+			return children[index];
+		}
+
+		/**
+		 * Turns the weighted sums in {@code massCenter} into the actual
+		 * center of mass for this node and all of its children.
+		 */
+		private void finish() {
+			if (unsignedMass != 0) {
+				for (int a = 0; a < dimension; a++) {
+					massCenter[a] /= unsignedMass;
+				}
+			}
+
+			if (children != null) {
+				for (Node child: children) {
+					if (child != null) {
+						child.finish();
+					}
+				}
+			}
+		}
+
+
+		/**
+		 * Adds the gravity of this node to {@code sum}, not including the
+		 * gravitational constant.
+		 * 
+		 * @param self	The index of the planet the gravity acts on
+		 * @param pos	Where the planet is located
+		 * @param sum	The acceleration found so far
+		 */
+		private void addAccel(int self, double[] pos, double[] sum) {
+			if (planets != null) {
+				for (int k = 0; k < planetCount; k++) {
+					if (planets[k] != self) {
+						addPointAccel(planets[k], pos, sum);
+					}
+				}
+				return;
+			} else if (children == null) {
+				//Only happens when the tree has no planets with mass
+				return;
+			}
+
+			double distSquared = 0;
+			for (int a = 0; a < dimension; a++) {
+				distSquared += (massCenter[a] - pos[a]) * (massCenter[a] - pos[a]);
+			}
+
+			//A node is only treated as a whole when it is far enough away, and
+			//when it does not contain the planet (so the planet doesn't pull on itself)
+			double width = 2 * halfWidth;
+			if (width * width < thetaSquared * distSquared
+					&& !contains(pos) && !containsPlanet(self)) {
+				double invDist = 1 / Math.sqrt(distSquared);
+				double strength = totalMass * invDist * invDist * invDist;
+				for (int a = 0; a < dimension; a++) {
+					sum[a] += (massCenter[a] - pos[a]) * strength;
+				}
+			} else {
+				for (Node child: children) {
+					if (child != null) {
+						child.addAccel(self, pos, sum);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Adds the gravity of a single planet to {@code sum}, not
+		 * including the gravitational constant.
+		 * 
+		 * @param p		The index of the planet whose gravity is added
+		 * @param pos	Where the gravity is being found
+		 * @param sum	The acceleration found so far
+		 */
+		private void addPointAccel(int p, double[] pos, double[] sum) {
+			double distSquared = 0;
+			for (int a = 0; a < dimension; a++) {
+				double d = coords[a][p] - pos[a];
+				distSquared += d * d;
+			}
+
+			double invDist = 1 / Math.sqrt(distSquared);
+			double strength = mass[p] * invDist * invDist * invDist;
+			for (int a = 0; a < dimension; a++) {
+				sum[a] += (coords[a][p] - pos[a]) * strength;
+			}
+		}
+
+
+		/**
+		 * Sets the box of this node and all of its children to hold the
+		 * boxes of their planets.
+		 * 
+		 * @param lower	The smallest corner of each planet's box
+		 * @param upper	The largest corner of each planet's box
+		 */
+		private void fitBox(double[][] lower, double[][] upper) {
+			if (boxLower == null) {
+				boxLower = new double[dimension];
+				boxUpper = new double[dimension];
+			}
+			Arrays.fill(boxLower, Double.POSITIVE_INFINITY);
+			Arrays.fill(boxUpper, Double.NEGATIVE_INFINITY);
+
+			if (planets != null) {
+				for (int k = 0; k < planetCount; k++) {
+					for (int a = 0; a < dimension; a++) {
+						boxLower[a] = Math.min(boxLower[a], lower[a][planets[k]]);
+						boxUpper[a] = Math.max(boxUpper[a], upper[a][planets[k]]);
+					}
+				}
+			} else if (children != null) {
+				for (Node child: children) {
+					if (child != null) {
+						child.fitBox(lower, upper);
+						for (int a = 0; a < dimension; a++) {
+							boxLower[a] = Math.min(boxLower[a], child.boxLower[a]);
+							boxUpper[a] = Math.max(boxUpper[a], child.boxUpper[a]);
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * Adds every pair of planets within this node whose boxes overlap.
+		 * 
+		 * @param lower	The smallest corner of each planet's box
+		 * @param upper	The largest corner of each planet's box
+		 * @param pairs	Where the pairs are added
+		 * @param chunk	The chunk the pairs are added to
+		 */
+		private void findOverlaps(double[][] lower, double[][] upper,
+				CandidatePairs pairs, int chunk) {
+			if (planets != null) {
+				for (int k = 0; k < planetCount; k++) {
+					for (int m = k + 1; m < planetCount; m++) {
+						addIfOverlapping(planets[k], planets[m], lower, upper, pairs, chunk);
+					}
+				}
+			} else if (children != null) {
+				for (int k = 0; k < children.length; k++) {
+					if (children[k] == null) {
+						continue;
+					}
+
+					children[k].findOverlaps(lower, upper, pairs, chunk);
+					for (int m = k + 1; m < children.length; m++) {
+						if (children[m] != null) {
+							children[k].findOverlaps(children[m], lower, upper, pairs, chunk);
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * Adds every pair made of a planet in this node and a planet in the
+		 * other node whose boxes overlap.  The two nodes must not share any planets.
+		 * 
+		 * @param other	The other node
+		 * @param lower	The smallest corner of each planet's box
+		 * @param upper	The largest corner of each planet's box
+		 * @param pairs	Where the pairs are added
+		 * @param chunk	The chunk the pairs are added to
+		 */
+		private void findOverlaps(Node other, double[][] lower, double[][] upper,
+				CandidatePairs pairs, int chunk) {
+			for (int a = 0; a < dimension; a++) {
+				if (boxLower[a] > other.boxUpper[a] || other.boxLower[a] > boxUpper[a]) {
+					return;
+				}
+			}
+
+			if (planets != null && other.planets != null) {
+				for (int k = 0; k < planetCount; k++) {
+					for (int m = 0; m < other.planetCount; m++) {
+						addIfOverlapping(planets[k], other.planets[m], lower, upper, pairs, chunk);
+					}
+				}
+			} else if (other.children == null || (children != null && halfWidth >= other.halfWidth)) {
+				//Splitting up the larger node
+				for (Node child: children) {
+					if (child != null) {
+						child.findOverlaps(other, lower, upper, pairs, chunk);
+					}
+				}
+			} else {
+				for (Node child: other.children) {
+					if (child != null) {
+						findOverlaps(child, lower, upper, pairs, chunk);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Adds the pairs made by planet {@code i}, which is not in the tree, and
+		 * the planets in this node whose boxes overlap its box.
+		 * 
+		 * @param i		The index of the planet being checked
+		 * @param lower	The smallest corner of each planet's box
+		 * @param upper	The largest corner of each planet's box
+		 * @param pairs	Where the pairs are added
+		 * @param chunk	The chunk the pairs are added to
+		 */
+		private void findOverlapsWith(int i, double[][] lower, double[][] upper,
+				CandidatePairs pairs, int chunk) {
+			for (int a = 0; a < dimension; a++) {
+				if (lower[a][i] > boxUpper[a] || boxLower[a] > upper[a][i]) {
+					return;
+				}
+			}
+
+			if (planets != null) {
+				for (int k = 0; k < planetCount; k++) {
+					addIfOverlapping(i, planets[k], lower, upper, pairs, chunk);
+				}
+			} else if (children != null) {
+				for (Node child: children) {
+					if (child != null) {
+						child.findOverlapsWith(i, lower, upper, pairs, chunk);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Adds the given pair of planets if their boxes overlap.
+		 * 
+		 * @param i		The index of a planet
+		 * @param j		The index of another planet
+		 * @param lower	The smallest corner of each planet's box
+		 * @param upper	The largest corner of each planet's box
+		 * @param pairs	Where the pair is added, with the smaller index first
+		 * @param chunk	The chunk the pair is added to
+		 */
+		private void addIfOverlapping(int i, int j, double[][] lower, double[][] upper,
+				CandidatePairs pairs, int chunk) {
+			if (BroadPhase.overlaps(i, j, lower, upper)) {
+				pairs.add(chunk, Math.min(i, j), Math.max(i, j));
+			}
+		}
+
+
+		/**
+		 * @param point	The given point
+		 * @return		If the given point is inside of this node's box
+		 */
+		private boolean contains(double[] point) {
+			for (int a = 0; a < dimension; a++) {
+				if (Math.abs(point[a] - center[a]) > halfWidth) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * @param p	The index of the given planet
+		 * @return	If the given planet's coordinates are inside of this node's box
+		 */
+		private boolean containsPlanet(int p) {
+			for (int a = 0; a < dimension; a++) {
+				if (Math.abs(coords[a][p] - center[a]) > halfWidth) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,306 @@
+package com.space.sim.universe;
+
+/**
+ * Moves the planets in a {@link ParticleStore} with a kick-drift-kick leapfrog
+ * integrator, where each planet takes steps of its own size.  This is what
+ * {@code IntegrationMethod.BLOCK_LEAPFROG} uses.
+ * <p>
+ * Planets in tight orbits need much smaller steps than planets that are far
+ * away from everything.  With a single time step, every planet has to use the
+ * step the fastest planet needs.  Here, each planet is instead put on a level,
+ * and a planet on level {@code L} takes steps of {@code timeStep / 2^L}.  Since
+ * every step size is the time step divided by a power of two, the steps of
+ * every level line up with the steps of the levels above it, and all planets
+ * are back in sync at the end of each call to {@link #step}.
+ * <p>
+ * The time step is split into {@value #TICKS} ticks.  The planets always drift
+ * together, as far as the smallest step in use.  After each drift, only the
+ * planets whose step has ended (the active planets) have their gravity
+ * recalculated, which is where the time is saved.  An active planet gets the
+ * second half of its kick, and then picks its next level and gets the first
+ * half of the next kick.
+ * <p>
+ * A planet's ideal step is {@value #ACCURACY} times {@code |accel| / |jerk|},
+ * which is roughly how long its acceleration takes to change by that fraction.
+ * The jerk is estimated from how much the acceleration changed over the
+ * planet's last step.  A planet with no estimate yet, such as on the first
+ * update, uses {@code |velocity| / |accel|} instead, which is the same as
+ * {@code |accel| / |jerk|} for a circular orbit.  If it isn't moving either,
+ * it uses how long it would take to fall its own radius.  A planet can always move to a smaller step, but it can only move to
+ * a larger one when the larger step would start at the current time.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ * @param <V> The type of vector the planets use
+ */
+final class BlockTimestepper<V extends Vector<V>> {
+
+	//The level of the smallest step
+	static final int MAX_LEVEL = 10;
+	static final int TICKS = 1 << MAX_LEVEL;
+
+	static final double ACCURACY = 0.03;
+
+	//level[i] is the level of planet i, and active holds the indices of the
+	//planets whose gravity is recalculated after the current drift
+	private int[] level = new int[0];
+	private int[] active = new int[0];
+
+	private double[][] newAccels;
+
+
+
+	/**
+	 * Moves every planet in the store forward by the given time step.
+	 *
+	 * @param store			The planets being moved
+	 * @param solver		The force solver used to find the gravity on each planet
+	 * @param startAccels	The acceleration of each planet at its current coordinates
+	 * @param timeStep		How far forward the planets are moved, and the largest
+	 * 						step any planet takes
+	 * @param gravConstant	The gravitational constant
+	 * @param parallel		If multiple threads should be used
+	 */
+	void step(ParticleStore<V> store, ForceSolver<V> solver, double[][] startAccels,
+			double timeStep, double gravConstant, boolean parallel) {
+		final int size = store.size();
+
+		if (level.length < size) {
+			level = new int[Math.max(size, level.length * 2)];
+			active = new int[level.length];
+		}
+		newAccels = store.fit(newAccels);
+
+		//Every planet is in sync at the start, so any level can be chosen
+		if (parallel) {
+			Universe.forEachChunk(size, (from, to) -> startSteps(store, startAccels, timeStep, from, to));
+		} else {
+			startSteps(store, startAccels, timeStep, 0, size);
+		}
+		int finest = finestLevel(size);
+
+		int tick = 0;
+		while (tick < TICKS) {
+			int ticks = TICKS >> finest;
+			double drift = timeStep * ticks / TICKS;
+
+			if (parallel) {
+				Universe.forEachChunk(size, (from, to) -> drift(store, drift, from, to));
+			} else {
+				drift(store, drift, 0, size);
+			}
+			tick += ticks;
+
+			int activeCount = 0;
+			for (int i = 0; i < size; i++) {
+				if (tick % (TICKS >> level[i]) == 0) {
+					active[activeCount] = i;
+					activeCount++;
+				}
+			}
+
+			solver.prepare(store);
+			solver.calcAccels(store, store.getCoords(), newAccels, gravConstant, parallel,
+					active, activeCount);
+
+			int now = tick;
+			if (parallel) {
+				Universe.forEachChunk(activeCount,
+						(from, to) -> finishSteps(store, now, timeStep, from, to));
+			} else {
+				finishSteps(store, now, timeStep, 0, activeCount);
+			}
+
+			finest = finestLevel(size);
+		}
+	}
+
+
+	/**
+	 * Gives the planets from index {@code from} up to (but not including) index
+	 * {@code to} their first level, and the first half of their first kick.
+	 *
+	 * @param store			The planets being moved
+	 * @param startAccels	The acceleration of each planet at its current coordinates
+	 * @param timeStep		The time step of the universe
+	 * @param from			The index of the first planet
+	 * @param to			One more than the index of the last planet
+	 */
+	private void startSteps(ParticleStore<V> store, double[][] startAccels,
+			double timeStep, int from, int to) {
+		double[][] accel = store.getAccel();
+
+		for (int i = from; i < to; i++) {
+			for (int a = 0; a < store.dimension(); a++) {
+				accel[a][i] = startAccels[a][i];
+			}
+
+			level[i] = idealLevel(i, store, timeStep);
+			kick(i, store, stepLength(level[i], timeStep) / 2);
+		}
+	}
+
+	/**
+	 * Moves the planets from index {@code from} up to (but not including)
+	 * index {@code to} at their current velocity.
+	 *
+	 * @param store	The planets being moved
+	 * @param time	How long the planets move for
+	 * @param from	The index of the first planet
+	 * @param to	One more than the index of the last planet
+	 */
+	private static void drift(ParticleStore<?> store, double time, int from, int to) {
+		double[][] coords = store.getCoords();
+		double[][] velocity = store.getVelocity();
+
+		for (int a = 0; a < store.dimension(); a++) {
+			for (int i = from; i < to; i++) {
+				coords[a][i] += velocity[a][i] * time;
+			}
+		}
+	}
+
+	/**
+	 * Finishes the step of each active planet from index {@code from} up to
+	 * (but not including) index {@code to} of {@code active}, using the
+	 * acceleration in {@code newAccels}.  Each one gets the second half of its
+	 * kick, and its jerk is estimated.  If the time step isn't over, it then
+	 * picks its next level and gets the first half of its next kick.
+	 *
+	 * @param store		The planets being moved
+	 * @param tick		The current time, in ticks
+	 * @param timeStep	The time step of the universe
+	 * @param from		The first index of {@code active} used
+	 * @param to		One more than the last index of {@code active} used
+	 */
+	private void finishSteps(ParticleStore<V> store, int tick, double timeStep, int from, int to) {
+		double[][] velocity = store.getVelocity();
+		double[][] accel = store.getAccel();
+		double[][] jerk = store.getJerk();
+
+		for (int k = from; k < to; k++) {
+			int i = active[k];
+			double oldStep = stepLength(level[i], timeStep);
+
+			for (int a = 0; a < store.dimension(); a++) {
+				velocity[a][i] += newAccels[a][i] * (oldStep / 2);
+				jerk[a][i] = (newAccels[a][i] - accel[a][i]) / oldStep;
+				accel[a][i] = newAccels[a][i];
+			}
+
+			if (tick < TICKS) {
+				level[i] = nextLevel(i, tick, store, timeStep);
+				kick(i, store, stepLength(level[i], timeStep) / 2);
+			}
+		}
+	}
+
+	/**
+	 * @param size	The number of planets
+	 * @return		The level of the planet with the smallest step
+	 */
+	private int finestLevel(int size) {
+		int finest = 0;
+		for (int i = 0; i < size; i++) {
+			finest = Math.max(finest, level[i]);
+		}
+		return finest;
+	}
+
+
+	/**
+	 * Finds the level whose step is closest to, but not larger than, the ideal
+	 * step of planet {@code i}.  Planets with no acceleration get the largest
+	 * step.  Planets with no jerk (meaning it hasn't been estimated yet) have
+	 * their step estimated from their acceleration, as described above, and
+	 * only get the smallest step if that isn't possible either.
+	 *
+	 * @param i			The index of the planet
+	 * @param store		The planets being moved
+	 * @param timeStep	The time step of the universe
+	 * @return			The level planet {@code i} should use
+	 */
+	private int idealLevel(int i, ParticleStore<V> store, double timeStep) {
+		double accelSquared = 0;
+		double jerkSquared = 0;
+		double velocitySquared = 0;
+		for (int a = 0; a < store.dimension(); a++) {
+			accelSquared += store.getAccel()[a][i] * store.getAccel()[a][i];
+			jerkSquared += store.getJerk()[a][i] * store.getJerk()[a][i];
+			velocitySquared += store.getVelocity()[a][i] * store.getVelocity()[a][i];
+		}
+		double radius = store.getRadius()[i];
+
+		//Roughly how long the acceleration takes to change completely
+		double changeTime;
+		if (accelSquared == 0) {
+			return 0;
+		} else if (jerkSquared > 0) {
+			changeTime = Math.sqrt(accelSquared / jerkSquared);
+		} else if (velocitySquared > 0) {
+			changeTime = Math.sqrt(velocitySquared / accelSquared);
+		} else if (radius > 0) {
+			changeTime = Math.sqrt(2 * radius / Math.sqrt(accelSquared));
+		} else {
+			return MAX_LEVEL;
+		}
+
+		//How many ideal steps fit in the time step
+		double idealSteps = timeStep / (changeTime * ACCURACY);
+		int ideal = 0;
+		while (ideal < MAX_LEVEL && (1 << ideal) < idealSteps) {
+			ideal++;
+		}
+		return ideal;
+	}
+
+	/**
+	 * Finds the level planet {@code i} should move to after finishing a step.
+	 * The planet moves to its ideal level if that is smaller.  Otherwise, it
+	 * moves up as many levels as it can while still starting its next step
+	 * on that level's schedule, but not past its ideal level.
+	 *
+	 * @param i			The index of the planet
+	 * @param tick		The current time, in ticks
+	 * @param store		The planets being moved
+	 * @param timeStep	The time step of the universe
+	 * @return			The next level of planet {@code i}
+	 */
+	private int nextLevel(int i, int tick, ParticleStore<V> store, double timeStep) {
+		int ideal = idealLevel(i, store, timeStep);
+		int next = level[i];
+
+		if (ideal >= next) {
+			return ideal;
+		}
+
+		while (next > ideal && tick % (TICKS >> (next - 1)) == 0) {
+			next--;
+		}
+		return next;
+	}
+
+
+	/**
+	 * Adds the acceleration of planet {@code i} to its velocity
+	 * for the given length of time.
+	 *
+	 * @param i		The index of the planet
+	 * @param store	The planets being moved
+	 * @param time	How long the acceleration is applied
+	 */
+	private void kick(int i, ParticleStore<V> store, double time) {
+		for (int a = 0; a < store.dimension(); a++) {
+			store.getVelocity()[a][i] += store.getAccel()[a][i] * time;
+		}
+	}
+
+	/**
+	 * @param level		A level
+	 * @param timeStep	The time step of the universe
+	 * @return			The size of the steps taken on the given level
+	 */
+	private static double stepLength(int level, double timeStep) {
+		return timeStep / (1 << level);
+	}
+}
@@ -0,0 +1,57 @@
+package com.space.sim.universe;
+
+/**
+ * The first half of collision detection, which finds the pairs of planets
+ * that might be touching without testing every pair of planets against each
+ * other.  Each planet is given as a box that contains it, and the pairs whose
+ * boxes overlap are found.  {@link Universe} then tests those pairs to see if
+ * the planets are actually touching.
+ * <p>
+ * Implementations may keep information between calls to speed up the next
+ * one, so each universe needs its own instance.  When multiple threads are
+ * used, the pairs should still be found in the same order as they would be
+ * with a single thread.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ */
+interface BroadPhase {
+
+	/**
+	 * Finds every pair of planets whose boxes overlap.  Planet {@code i}'s box
+	 * goes from {@code lower[axis][i]} to {@code upper[axis][i]} along each axis.
+	 * The pairs can be read from {@link #getCandidates()}.  Every pair is found
+	 * exactly once, with the smaller index first, but the pairs may be in any order.
+	 *
+	 * @param lower		The smallest corner of each planet's box
+	 * @param upper		The largest corner of each planet's box
+	 * @param size		The number of planets
+	 * @param parallel	If multiple threads should be used
+	 * @return			The number of pairs found
+	 */
+	int findCandidates(double[][] lower, double[][] upper, int size, boolean parallel);
+
+	/**
+	 * @return	The pairs found by the last call to {@link #findCandidates},
+	 * 			where pair {@code k} is made of the planets at indices
+	 * 			{@code 2k} and {@code 2k + 1}
+	 */
+	int[] getCandidates();
+
+
+	/**
+	 * @param i		The index of a planet
+	 * @param j		The index of another planet
+	 * @param lower	The smallest corner of each planet's box
+	 * @param upper	The largest corner of each planet's box
+	 * @return		If the boxes of the two planets overlap
+	 */
+	static boolean overlaps(int i, int j, double[][] lower, double[][] upper) {
+		for (int a = 0; a < lower.length; a++) {
+			if (lower[a][i] > upper[a][j] || lower[a][j] > upper[a][i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
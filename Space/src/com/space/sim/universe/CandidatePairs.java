@@ -0,0 +1,101 @@
+package com.space.sim.universe;
+
+import java.util.Arrays;
+
+/**
+ * Holds the pairs of planets found by a {@link BroadPhase}.  When multiple
+ * threads are used, the planets are split into chunks of {@value #CHUNK}, and
+ * each chunk gets its own list of pairs so that the threads never write to the
+ * same array.  The lists are then joined in order of their chunks, so the
+ * pairs come out in the same order as they would with a single thread.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ */
+final class CandidatePairs {
+
+	static final int CHUNK = 1024;
+
+	//Pair k of chunk c is chunkPairs[c][2k] and chunkPairs[c][2k + 1]
+	private int[][] chunkPairs = new int[0][];
+	private int[] chunkCounts = new int[0];
+
+	private int[] joined = new int[64];
+	private int chunksUsed;
+
+
+
+	/**
+	 * Empties every list, and makes sure there is a list for each chunk.
+	 *
+	 * @param chunks	The number of chunks the planets are split into
+	 */
+	void clear(int chunks) {
+		if (chunkPairs.length < chunks) {
+			int oldLength = chunkPairs.length;
+			chunkPairs = Arrays.copyOf(chunkPairs, Math.max(chunks, oldLength * 2));
+			chunkCounts = new int[chunkPairs.length];
+
+			for (int c = oldLength; c < chunkPairs.length; c++) {
+				chunkPairs[c] = new int[64];
+			}
+		}
+
+		Arrays.fill(chunkCounts, 0, chunks, 0);
+		chunksUsed = chunks;
+	}
+
+	/**
+	 * Adds a pair to the list of the given chunk.  Only one thread may add to
+	 * each chunk at a time.
+	 *
+	 * @param chunk	The chunk being worked on
+	 * @param i		The index of the first planet
+	 * @param j		The index of the second planet
+	 */
+	void add(int chunk, int i, int j) {
+		int count = chunkCounts[chunk];
+		if (2 * count + 1 >= chunkPairs[chunk].length) {
+			chunkPairs[chunk] = Arrays.copyOf(chunkPairs[chunk], chunkPairs[chunk].length * 2);
+		}
+
+		chunkPairs[chunk][2 * count] = i;
+		chunkPairs[chunk][2 * count + 1] = j;
+		chunkCounts[chunk]++;
+	}
+
+	/**
+	 * Joins the lists of every chunk, in order.
+	 *
+	 * @return	The total number of pairs
+	 */
+	int join() {
+		if (chunksUsed == 1) {
+			return chunkCounts[0];
+		}
+
+		int total = 0;
+		for (int c = 0; c < chunksUsed; c++) {
+			total += chunkCounts[c];
+		}
+		if (2 * total > joined.length) {
+			joined = new int[Math.max(2 * total, joined.length * 2)];
+		}
+
+		int position = 0;
+		for (int c = 0; c < chunksUsed; c++) {
+			System.arraycopy(chunkPairs[c], 0, joined, position, 2 * chunkCounts[c]);
+			position += 2 * chunkCounts[c];
+		}
+		return total;
+	}
+
+	/**
+	 * @return	The pairs put together by the last call to {@link #join()},
+	 * 			where pair {@code k} is made of the planets at indices
+	 * 			{@code 2k} and {@code 2k + 1}
+	 */
+	int[] getPairs() {
+		return (chunksUsed == 1) ? chunkPairs[0] : joined;
+	}
+}
@@ -0,0 +1,259 @@
+package com.space.sim.universe;
+
+import java.util.stream.IntStream;
+
+/**
+ * A {@link ForceSolver} that finds the gravity on each planet by adding up
+ * the gravity of every other planet.  The result is exact, but it takes
+ * O(n<sup>2</sup>) time.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ * @param <V> The type of vector the planets use
+ */
+public class DirectSolver<V extends Vector<V>> implements ForceSolver<V> {
+
+	@Override
+	public void calcAccels(ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant, boolean parallel) {
+		if (parallel) {
+			IntStream.range(0, store.size()).parallel()
+					.forEach(i -> calcAccel(i, store, positions, accels, gravConstant));
+		} else {
+			//A plain loop is used so that nothing is allocated
+			for (int i = 0; i < store.size(); i++) {
+				calcAccel(i, store, positions, accels, gravConstant);
+			}
+		}
+	}
+
+	@Override
+	public void calcAccels(ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant, boolean parallel,
+			int[] targets, int targetCount) {
+		if (parallel) {
+			IntStream.range(0, targetCount).parallel()
+					.forEach(k -> calcAccel(targets[k], store, positions, accels, gravConstant));
+		} else {
+			for (int k = 0; k < targetCount; k++) {
+				calcAccel(targets[k], store, positions, accels, gravConstant);
+			}
+		}
+	}
+
+
+	/**
+	 * Determines the acceleration on planet {@code i} due to the gravity of
+	 * the other planets, if the planet was located at {@code positions[axis][i]}.
+	 * It then assigns that acceleration to {@code accels[axis][i]}.
+	 * <p>
+	 * The acceleration due to a single planet is {@code mass * d / r^3}, where
+	 * {@code d} is the vector from planet {@code i} to the other planet and
+	 * {@code r} is the length of {@code d}.  This is found with one square root
+	 * and one division per pair of planets.  The sums are kept in local
+	 * variables, and the gravitational constant is only applied at the end.
+	 * Nothing is allocated.
+	 * 
+	 * @param i				The index of the planet the gravity is acting on
+	 * @param store			The planets whose gravity is acting on the planet
+	 * @param positions		Where each planet is located when calculating the acceleration
+	 * @param accels		Where the acceleration of each planet is stored
+	 * @param gravConstant	The gravitational constant
+	 */
+	private void calcAccel(int i, ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant) {
+		switch (store.dimension()) {
+			case 2:
+				calcAccel2D(i, store, positions, accels, gravConstant);
+				break;
+			case 3:
+				calcAccel3D(i, store, positions, accels, gravConstant);
+				break;
+			default:
+				calcAccelND(i, store, positions, accels, gravConstant);
+				break;
+		}
+	}
+
+	/**
+	 * The two-dimensional version of
+	 * {@link #calcAccel(int, ParticleStore, double[][], double[][], double)}.
+	 */
+	private void calcAccel2D(int i, ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant) {
+		final double[] xs = store.getCoords()[0];
+		final double[] ys = store.getCoords()[1];
+		final double[] mass = store.getMass();
+		final int size = store.size();
+
+		final double px = positions[0][i];
+		final double py = positions[1][i];
+
+		double ax = 0;
+		double ay = 0;
+
+		for (int j = 0; j < size; j++) {
+			if (j == i || mass[j] == 0) {
+				continue;
+			}
+
+			double dx = xs[j] - px;
+			double dy = ys[j] - py;
+
+			double invDist = 1 / Math.sqrt((dx * dx) + (dy * dy));
+			double strength = mass[j] * invDist * invDist * invDist;
+
+			ax += dx * strength;
+			ay += dy * strength;
+		}
+
+		accels[0][i] = ax * gravConstant;
+		accels[1][i] = ay * gravConstant;
+	}
+
+	/**
+	 * The three-dimensional version of
+	 * {@link #calcAccel(int, ParticleStore, double[][], double[][], double)}.
+	 */
+	private void calcAccel3D(int i, ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant) {
+		final double[] xs = store.getCoords()[0];
+		final double[] ys = store.getCoords()[1];
+		final double[] zs = store.getCoords()[2];
+		final double[] mass = store.getMass();
+		final int size = store.size();
+
+		final double px = positions[0][i];
+		final double py = positions[1][i];
+		final double pz = positions[2][i];
+
+		double ax = 0;
+		double ay = 0;
+		double az = 0;
+
+		for (int j = 0; j < size; j++) {
+			if (j == i || mass[j] == 0) {
+				continue;
+			}
+
+			double dx = xs[j] - px;
+			double dy = ys[j] - py;
+			double dz = zs[j] - pz;
+
+			double invDist = 1 / Math.sqrt((dx * dx) + (dy * dy) + (dz * dz));
+			double strength = mass[j] * invDist * invDist * invDist;
+
+			ax += dx * strength;
+			ay += dy * strength;
+			az += dz * strength;
+		}
+
+		accels[0][i] = ax * gravConstant;
+		accels[1][i] = ay * gravConstant;
+		accels[2][i] = az * gravConstant;
+	}
+
+	/**
+	 * The version of {@link #calcAccel(int, ParticleStore, double[][], double[][], double)}
+	 * for any number of dimensions.  Since the number of components isn't known,
+	 * the sums are kept in {@code accels} instead of local variables, and each
+	 * component of {@code d} is found twice instead of being stored.
+	 */
+	private void calcAccelND(int i, ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant) {
+		final int dimension = store.dimension();
+		final double[][] coords = store.getCoords();
+		final double[] mass = store.getMass();
+		final int size = store.size();
+
+		for (int a = 0; a < dimension; a++) {
+			accels[a][i] = 0;
+		}
+
+		for (int j = 0; j < size; j++) {
+			if (j == i || mass[j] == 0) {
+				continue;
+			}
+
+			double distSquared = 0;
+			for (int a = 0; a < dimension; a++) {
+				double d = coords[a][j] - positions[a][i];
+				distSquared += d * d;
+			}
+
+			double invDist = 1 / Math.sqrt(distSquared);
+			double strength = mass[j] * invDist * invDist * invDist;
+
+			for (int a = 0; a < dimension; a++) {
+				accels[a][i] += (coords[a][j] - positions[a][i]) * strength;
+			}
+		}
+
+		for (int a = 0; a < dimension; a++) {
+			accels[a][i] *= gravConstant;
+		}
+	}
+
+
+	/**
+	 * Determines the acceleration and jerk on planet {@code i} due to the
+	 * gravity of the other planets, with every planet at its coordinates and
+	 * velocity in the store.  The results are assigned to
+	 * {@code accels[axis][i]} and {@code jerks[axis][i]}.  This is what
+	 * {@link ForceSolver#calcAccelsAndJerks} uses by default.
+	 * <p>
+	 * The jerk is how fast the acceleration is changing.  For a single planet
+	 * it is {@code mass * (v / r^3 - 3 * (d . v) * d / r^5)}, where {@code d}
+	 * and {@code v} are the position and velocity of the other planet relative
+	 * to planet {@code i}, and {@code r} is the length of {@code d}.
+	 *
+	 * @param i				The index of the planet the gravity is acting on
+	 * @param store			The planets whose gravity is acting on the planet
+	 * @param accels		Where the acceleration of each planet is stored
+	 * @param jerks			Where the jerk of each planet is stored
+	 * @param gravConstant	The gravitational constant
+	 */
+	static <V extends Vector<V>> void calcAccelAndJerk(int i, ParticleStore<V> store,
+			double[][] accels, double[][] jerks, double gravConstant) {
+		final int dimension = store.dimension();
+		final double[][] coords = store.getCoords();
+		final double[][] velocity = store.getVelocity();
+		final double[] mass = store.getMass();
+		final int size = store.size();
+
+		for (int a = 0; a < dimension; a++) {
+			accels[a][i] = 0;
+			jerks[a][i] = 0;
+		}
+
+		for (int j = 0; j < size; j++) {
+			if (j == i || mass[j] == 0) {
+				continue;
+			}
+
+			double distSquared = 0;
+			double dot = 0;
+			for (int a = 0; a < dimension; a++) {
+				double d = coords[a][j] - coords[a][i];
+				distSquared += d * d;
+				dot += d * (velocity[a][j] - velocity[a][i]);
+			}
+
+			double invDist = 1 / Math.sqrt(distSquared);
+			double strength = mass[j] * invDist * invDist * invDist;
+			double radialPart = 3 * dot * invDist * invDist;
+
+			for (int a = 0; a < dimension; a++) {
+				double d = coords[a][j] - coords[a][i];
+				double v = velocity[a][j] - velocity[a][i];
+				accels[a][i] += d * strength;
+				jerks[a][i] += (v - (radialPart * d)) * strength;
+			}
+		}
+
+		for (int a = 0; a < dimension; a++) {
+			accels[a][i] *= gravConstant;
+			jerks[a][i] *= gravConstant;
+		}
+	}
+}
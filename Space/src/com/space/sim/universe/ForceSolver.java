@@ -0,0 +1,106 @@
+package com.space.sim.universe;
+
+/**
+ * A force solver calculates the acceleration due to gravity on every planet
+ * in a universe at once.  Each {@link Universe} owns a force solver, and the
+ * integration methods ask it for accelerations whenever they need them.  This
+ * lets different ways of calculating gravity be swapped out (and compared
+ * against each other) without changing {@link Planet} or the integration methods.
+ * <p>
+ * The planets are given as a {@link ParticleStore}, and positions and
+ * accelerations are arrays with one row per axis, in the same layout as
+ * {@link ParticleStore#getCoords()}.  The gravity always comes from the planets
+ * at their coordinates in the store.  The positions the accelerations are found
+ * at may be different, since some integration methods (like Runge-Kutta) need
+ * to know the acceleration a planet would feel if it were somewhere else.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ * @param <V> The type of vector the planets use
+ */
+public interface ForceSolver<V extends Vector<V>> {
+
+	/**
+	 * This method is called before the first call to {@link #calcAccels} in
+	 * a step, and again whenever the coordinates of the planets change before
+	 * the next call.  Steps that never call {@code calcAccels} don't call it.  The coordinates of the planets will not change
+	 * until this method is called again, so any work that only depends on
+	 * them (like building a tree) can be done here and reused.
+	 *
+	 * @param store	The planets whose gravity will be calculated
+	 */
+	default void prepare(ParticleStore<V> store) {}
+
+	/**
+	 * Calculates the acceleration due to gravity for every planet in the store.
+	 * The acceleration of planet {@code i} is found as if it were located at
+	 * {@code positions[axis][i]}, and is stored in {@code accels[axis][i]}.
+	 * A planet's own gravity never acts on itself.
+	 *
+	 * @param store			The planets whose gravity is acting on each other
+	 * @param positions		Where each planet is located when finding its acceleration
+	 * @param accels		Where the acceleration of each planet is stored
+	 * @param gravConstant	The gravitational constant
+	 * @param parallel		If multiple threads should be used
+	 */
+	void calcAccels(ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant, boolean parallel);
+
+	/**
+	 * Calculates the acceleration due to gravity for only some of the planets
+	 * in the store, whose indices are {@code targets[0]} to
+	 * {@code targets[targetCount - 1]}.  This is used when only some planets
+	 * need new accelerations, like with {@code IntegrationMethod.BLOCK_LEAPFROG}.
+	 * The accelerations of the other planets in {@code accels} may or may not
+	 * be changed.
+	 * <p>
+	 * By default, the accelerations of every planet are calculated.  Solvers
+	 * that can handle a single planet at a time should override this.
+	 *
+	 * @param store			The planets whose gravity is acting on each other
+	 * @param positions		Where each planet is located when finding its acceleration
+	 * @param accels		Where the acceleration of each planet is stored
+	 * @param gravConstant	The gravitational constant
+	 * @param parallel		If multiple threads should be used
+	 * @param targets		The indices of the planets that need accelerations
+	 * @param targetCount	How many indices in {@code targets} are used
+	 */
+	default void calcAccels(ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant, boolean parallel,
+			int[] targets, int targetCount) {
+		calcAccels(store, positions, accels, gravConstant, parallel);
+	}
+
+	/**
+	 * Calculates the acceleration due to gravity and the jerk (how fast the
+	 * acceleration is changing) for every planet in the store, with every
+	 * planet at its coordinates and velocity in the store.  This is used by
+	 * {@code IntegrationMethod.HERMITE}.
+	 * <p>
+	 * By default, every pair of planets is added up directly, like
+	 * {@link DirectSolver}, since approximations of the jerk would ruin the
+	 * accuracy that makes it worth calculating.  {@link #prepare} isn't
+	 * called before this, so a solver that overrides it can't rely on anything
+	 * {@code prepare} makes.
+	 *
+	 * @param store			The planets whose gravity is acting on each other
+	 * @param accels		Where the acceleration of each planet is stored
+	 * @param jerks			Where the jerk of each planet is stored
+	 * @param gravConstant	The gravitational constant
+	 * @param parallel		If multiple threads should be used
+	 */
+	default void calcAccelsAndJerks(ParticleStore<V> store, double[][] accels,
+			double[][] jerks, double gravConstant, boolean parallel) {
+		if (parallel) {
+			Universe.forEachChunk(store.size(), (from, to) -> {
+				for (int i = from; i < to; i++) {
+					DirectSolver.calcAccelAndJerk(i, store, accels, jerks, gravConstant);
+				}
+			});
+		} else {
+			for (int i = 0; i < store.size(); i++) {
+				DirectSolver.calcAccelAndJerk(i, store, accels, jerks, gravConstant);
+			}
+		}
+	}
+}
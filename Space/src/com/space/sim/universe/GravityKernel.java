@@ -0,0 +1,51 @@
+package com.space.sim.universe;
+
+/**
+ * The innermost loop of {@link VectorizedSolver}: adding up the gravity that
+ * a run of packed source planets has on one point.  This is split out so
+ * that a kernel written with the Vector API can be swapped in when it is
+ * available.  See {@link VectorizedSolver} for how it is found.
+ * <p>
+ * The sources are given as separate arrays of coordinates and masses, and
+ * every source from index {@code from} up to (but not including) index
+ * {@code to} is used.  Every source must have mass, and none of them may be
+ * at the point itself.  The gravitational constant is not applied.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ */
+interface GravityKernel {
+
+	/**
+	 * Adds the acceleration at {@code (px, py)} to {@code sum[0]} and {@code sum[1]}.
+	 *
+	 * @param px	The x-coordinate of the point
+	 * @param py	The y-coordinate of the point
+	 * @param xs	The x-coordinate of each source
+	 * @param ys	The y-coordinate of each source
+	 * @param ms	The mass of each source
+	 * @param from	The index of the first source used
+	 * @param to	One more than the index of the last source used
+	 * @param sum	Where the acceleration is added
+	 */
+	void addAccel2D(double px, double py, double[] xs, double[] ys, double[] ms,
+			int from, int to, double[] sum);
+
+	/**
+	 * Adds the acceleration at {@code (px, py, pz)} to {@code sum[0]},
+	 * {@code sum[1]}, and {@code sum[2]}.
+	 *
+	 * @param px	The x-coordinate of the point
+	 * @param py	The y-coordinate of the point
+	 * @param pz	The z-coordinate of the point
+	 * @param xs	The x-coordinate of each source
+	 * @param ys	The y-coordinate of each source
+	 * @param zs	The z-coordinate of each source
+	 * @param ms	The mass of each source
+	 * @param from	The index of the first source used
+	 * @param to	One more than the index of the last source used
+	 * @param sum	Where the acceleration is added
+	 */
+	void addAccel3D(double px, double py, double pz, double[] xs, double[] ys, double[] zs,
+			double[] ms, int from, int to, double[] sum);
+}
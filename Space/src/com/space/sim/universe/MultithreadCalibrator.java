@@ -0,0 +1,141 @@
+package com.space.sim.universe;
+
+/**
+ * Decides whether a {@link Universe} should use multiple threads to update its
+ * planets, based on how long its steps actually take on this computer.
+ * <p>
+ * Multiple threads are used once the number of planets reaches the crossover.
+ * The crossover starts at {@value #STARTING_CROSSOVER}, and is then adjusted
+ * by trial steps.  Every {@value #TRIAL_INTERVAL} steps, if the number of
+ * planets is close to the crossover, one step is made the other way (with
+ * multiple threads if they weren't being used, and without if they were), and
+ * its time is compared against the step before it.  If the trial was clearly
+ * faster, the crossover is moved to the current number of planets so that the
+ * faster choice is used from then on.  If the trial was slower, nothing
+ * changes.  Since trials keep happening, a crossover that was moved by a lucky
+ * measurement will be moved back.
+ * <p>
+ * On a computer with only one processor, or when multiple threads aren't
+ * allowed, multiple threads are never used.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ */
+final class MultithreadCalibrator {
+
+	static final int STARTING_CROSSOVER = 500;
+	static final int TRIAL_INTERVAL = 50;
+
+	//Trials only happen when the number of planets is within this factor of the crossover
+	private static final int TRIAL_RANGE = 4;
+	//A trial must take less than this fraction of the normal step's time to count
+	private static final double TRIAL_MARGIN = 0.9;
+
+	private final boolean multipleProcessors = Runtime.getRuntime().availableProcessors() > 1;
+	private boolean threadsAllowed = multipleProcessors;
+
+	private int crossover = STARTING_CROSSOVER;
+	private int stepsUntilTrial = TRIAL_INTERVAL;
+
+	//The time of the last step that wasn't a trial, or -1 if there is nothing to compare against
+	private long lastTime = -1;
+	private int lastSize;
+
+	//The step currently being timed
+	private boolean trial;
+	private boolean parallel;
+	private int size;
+	private long startTime;
+
+
+
+	/**
+	 * Decides whether the step that is about to be made should use multiple
+	 * threads, and starts timing it.  {@link #finishStep()} must be called
+	 * once the step is done.
+	 *
+	 * @param numOfPlanets	The number of planets being moved
+	 * @return				If multiple threads should be used
+	 */
+	boolean startStep(int numOfPlanets) {
+		size = numOfPlanets;
+		parallel = threadsAllowed && size >= crossover;
+		trial = false;
+
+		if (threadsAllowed && lastTime >= 0 && lastSize == size) {
+			stepsUntilTrial--;
+
+			boolean nearCrossover = size * TRIAL_RANGE >= crossover
+					&& size <= crossover * TRIAL_RANGE;
+			if (stepsUntilTrial <= 0 && nearCrossover) {
+				trial = true;
+				parallel = !parallel;
+				stepsUntilTrial = TRIAL_INTERVAL;
+			}
+		}
+
+		startTime = System.nanoTime();
+		return parallel;
+	}
+
+	/**
+	 * Stops timing the current step.  If it was a trial, the crossover is
+	 * moved if the trial was faster.
+	 */
+	void finishStep() {
+		long time = System.nanoTime() - startTime;
+
+		if (trial) {
+			if (time < lastTime * TRIAL_MARGIN) {
+				crossover = parallel ? size : size + 1;
+			}
+
+			//The next trial is compared against a fresh measurement
+			lastTime = -1;
+		} else {
+			lastTime = time;
+			lastSize = size;
+		}
+	}
+
+
+	/**
+	 * Forgets the last step, so that the next trial is not compared against
+	 * a step that did different work (like one made with another integration
+	 * method).
+	 */
+	void forgetLastStep() {
+		lastTime = -1;
+	}
+
+	/**
+	 * Moves the crossover back to {@value #STARTING_CROSSOVER} and forgets the
+	 * last step.  This is used when the force solver changes, since the old
+	 * crossover was measured with a solver that may have worked very differently.
+	 */
+	void reset() {
+		crossover = STARTING_CROSSOVER;
+		stepsUntilTrial = TRIAL_INTERVAL;
+		lastTime = -1;
+	}
+
+
+	/**
+	 * Sets whether multiple threads may be used.  They are never
+	 * used on a computer with only one processor.
+	 *
+	 * @param allowed	If multiple threads may be used
+	 */
+	void setThreadsAllowed(boolean allowed) {
+		threadsAllowed = allowed && multipleProcessors;
+		lastTime = -1;
+	}
+
+
+	/**
+	 * @return	The number of planets at which multiple threads start being used
+	 */
+	int getCrossover() {
+		return crossover;
+	}
+}
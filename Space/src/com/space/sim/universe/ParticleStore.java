@@ -0,0 +1,203 @@
+package com.space.sim.universe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class holds the state of every planet in a {@link Universe} as plain
+ * arrays of numbers, one array per axis.  For example, the x-coordinates of
+ * every planet are next to each other in {@code getCoords()[0]}, and the
+ * y-coordinates are in {@code getCoords()[1]}.  Keeping the numbers together
+ * like this (a "structure of arrays") is much faster to loop over than
+ * following a reference to a separate vector object for every planet.
+ * <p>
+ * The universe moves planets by working on these arrays.  The {@link Planet}
+ * instances still keep their own vectors, which the rest of the program, like
+ * the GUI, the paths, and the presets, reads and changes directly.  So this
+ * store is a working copy rather than the only copy: {@link #load(List)} copies
+ * the planets' state into the arrays before a step, and {@link #writeBack()}
+ * copies the arrays back into them afterwards.  Both copies take time
+ * proportional to the number of planets, which is small next to finding the
+ * gravity, and they let planets be added, removed, and combined between steps
+ * without the store having to know about it.
+ * <p>
+ * The arrays returned by the getters are the actual arrays being used, not
+ * copies.  They may be longer than {@link #size()}, in which case the extra
+ * values should be ignored.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ * @param <V> The type of vector the planets use
+ */
+public final class ParticleStore<V extends Vector<V>> {
+
+	private final ArrayList<Planet<V>> planets = new ArrayList<>();
+
+	private int size;
+	private int dimension;
+	private int capacity;
+
+	private double[][] coords = new double[0][0];
+	private double[][] velocity = new double[0][0];
+	private double[][] accel = new double[0][0];
+	private double[][] jerk = new double[0][0];
+
+	private double[] mass = new double[0];
+	private double[] radius = new double[0];
+
+
+
+	/**
+	 * Copies the coordinates, velocity, acceleration, jerk, mass, and radius
+	 * of each of the given planets into this store.  The planet at index
+	 * {@code i} of the list has its values stored at index {@code i} of each array.
+	 *
+	 * @param newPlanets	The planets this store holds
+	 */
+	void load(List<? extends Planet<V>> newPlanets) {
+		size = newPlanets.size();
+
+		if (size > 0) {
+			int newDimension = newPlanets.get(0).getCoords().dimension();
+			if (newDimension != dimension) {
+				dimension = newDimension;
+				capacity = 0;
+			}
+		}
+
+		if (size > capacity) {
+			grow(size);
+		}
+
+		//Adding one at a time, since addAll() would copy the list into a new array
+		planets.clear();
+		for (int i = 0; i < size; i++) {
+			planets.add(newPlanets.get(i));
+		}
+
+		for (int i = 0; i < size; i++) {
+			Planet<V> p = planets.get(i);
+			for (int a = 0; a < dimension; a++) {
+				coords[a][i] = p.getCoords().getComponent(a);
+				velocity[a][i] = p.getVelocity().getComponent(a);
+				accel[a][i] = p.getAccel().getComponent(a);
+				jerk[a][i] = p.getJerk().getComponent(a);
+			}
+			mass[i] = p.getMass();
+			radius[i] = p.getRad();
+		}
+	}
+
+	/**
+	 * Copies the coordinates, velocity, acceleration, and jerk in this store
+	 * back into the planets it was loaded from.
+	 */
+	void writeBack() {
+		for (int i = 0; i < size; i++) {
+			Planet<V> p = planets.get(i);
+			for (int a = 0; a < dimension; a++) {
+				p.getCoords().setComponent(a, coords[a][i]);
+				p.getVelocity().setComponent(a, velocity[a][i]);
+				p.getAccel().setComponent(a, accel[a][i]);
+				p.getJerk().setComponent(a, jerk[a][i]);
+			}
+		}
+	}
+
+
+	/**
+	 * Makes every array long enough to hold at least the given number of planets.
+	 *
+	 * @param minCapacity	The number of planets the arrays must be able to hold
+	 */
+	private void grow(int minCapacity) {
+		capacity = Math.max(minCapacity, capacity * 2);
+
+		coords = fit(coords);
+		velocity = fit(velocity);
+		accel = fit(accel);
+		jerk = fit(jerk);
+		mass = Arrays.copyOf(mass, capacity);
+		radius = Arrays.copyOf(radius, capacity);
+	}
+
+
+	/**
+	 * Returns an array of the same shape as {@link #getCoords()}.  If the given
+	 * array already has that shape it is returned, otherwise a new array is made
+	 * with the values of the given array copied into it.  This allows buffers
+	 * that are kept between steps to follow changes in the number of planets.
+	 *
+	 * @param buffer	The array being checked, or {@code null}
+	 * @return			An array with one row per axis and one column per planet
+	 */
+	public double[][] fit(double[][] buffer) {
+		if (buffer != null && buffer.length == dimension
+				&& (dimension == 0 || buffer[0].length >= capacity)) {
+			return buffer;
+		}
+
+		boolean keepValues = buffer != null && buffer.length == dimension;
+		
+		double[][] fitted = new double[dimension][];
+		for (int a = 0; a < dimension; a++) {
+			if (keepValues) {
+				fitted[a] = Arrays.copyOf(buffer[a], capacity);
+			} else {
+				fitted[a] = new double[capacity];
+			}
+		}
+		return fitted;
+	}
+
+
+
+	/**
+	 * @return	The number of planets in this store
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return	The number of components in each planet's coordinates
+	 */
+	public int dimension() {
+		return dimension;
+	}
+
+
+	public double[][] getCoords() {
+		return coords;
+	}
+
+	public double[][] getVelocity() {
+		return velocity;
+	}
+
+	public double[][] getAccel() {
+		return accel;
+	}
+
+	public double[][] getJerk() {
+		return jerk;
+	}
+
+	public double[] getMass() {
+		return mass;
+	}
+
+	public double[] getRadius() {
+		return radius;
+	}
+
+
+	/**
+	 * @param i	The index of a planet in this store
+	 * @return	The planet whose values are stored at the given index
+	 */
+	public Planet<V> getPlanet(int i) {
+		return planets.get(i);
+	}
+}
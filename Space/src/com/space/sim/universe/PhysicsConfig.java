@@ -0,0 +1,93 @@
+package com.space.sim.universe;
+
+/**
+ * The physical constants a {@link Universe} is updated with: the gravitational
+ * constant, the time step, and the density given to new planets.
+ * <p>
+ * A config never changes after it is made.  To change a constant, a universe
+ * is given a new config with {@link Universe#setPhysicsConfig}, usually made
+ * from the old one with one of the {@code with} methods.  Each update reads the
+ * config once at its start, so every part of an update uses the same constants,
+ * and a change made between two updates is never seen halfway through one.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ */
+public final class PhysicsConfig {
+
+	/**
+	 * The constants every universe starts with.
+	 */
+	public static final PhysicsConfig DEFAULT = new PhysicsConfig(1, 0.1, 1);
+
+	private final double gravConstant;
+	private final double timeStep;
+	private final double defaultDensity;
+
+
+	/**
+	 * @param gravConstant		The gravitational constant
+	 * @param timeStep			How much time passes in each update.  Integration methods
+	 * 							that pick their own time steps use this as their starting point.
+	 * @param defaultDensity	The density given to the planets
+	 */
+	public PhysicsConfig(double gravConstant, double timeStep, double defaultDensity) {
+		if (!(timeStep > 0)) {
+			throw new IllegalArgumentException("Time step is " + timeStep
+					+ " when it should be greater than zero");
+		}
+		if (!(defaultDensity > 0)) {
+			throw new IllegalArgumentException("Density is " + defaultDensity
+					+ " when it should be more than zero");
+		}
+
+		this.gravConstant = gravConstant;
+		this.timeStep = timeStep;
+		this.defaultDensity = defaultDensity;
+	}
+
+
+	public double getGravConstant() {
+		return gravConstant;
+	}
+
+	public double getTimeStep() {
+		return timeStep;
+	}
+
+	public double getDefaultDensity() {
+		return defaultDensity;
+	}
+
+
+	/**
+	 * @param gravConstant	The new gravitational constant
+	 * @return				A copy of this config with the given gravitational constant
+	 */
+	public PhysicsConfig withGravConstant(double gravConstant) {
+		return new PhysicsConfig(gravConstant, timeStep, defaultDensity);
+	}
+
+	/**
+	 * @param timeStep	The new time step
+	 * @return			A copy of this config with the given time step
+	 */
+	public PhysicsConfig withTimeStep(double timeStep) {
+		return new PhysicsConfig(gravConstant, timeStep, defaultDensity);
+	}
+
+	/**
+	 * @param defaultDensity	The new default density
+	 * @return					A copy of this config with the given default density
+	 */
+	public PhysicsConfig withDefaultDensity(double defaultDensity) {
+		return new PhysicsConfig(gravConstant, timeStep, defaultDensity);
+	}
+
+
+	@Override
+	public String toString() {
+		return "PhysicsConfig[gravConstant=" + gravConstant + ", timeStep=" + timeStep
+				+ ", defaultDensity=" + defaultDensity + "]";
+	}
+}
@@ -0,0 +1,183 @@
+package com.space.sim.universe;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A {@link BroadPhase} that sorts the planets into a grid.  Space is split
+ * into cubes (or the dimensional equivalent) called cells, which are as wide
+ * as the widest box, and each planet is put in the cell its box's center is in.
+ * Since no box is wider than a cell, two boxes can only overlap if their
+ * cells are next to each other (or the same), so each planet only needs to be
+ * compared with the planets in the {@code 3^dimension} cells around it.
+ * <p>
+ * Most of space is empty, so instead of an array of every cell, the cells are
+ * hashed into a table two to four times as long as the number of planets.
+ * Two cells can hash to the same spot in the table, so the cell of each
+ * planet is checked as well.  One very large planet makes every cell large, which
+ * brings the comparisons back towards every pair of planets.  In higher
+ * dimensions the number of neighboring cells grows quickly, so
+ * {@link SweepAndPrune} is usually faster there.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ */
+final class SpatialHashGrid implements BroadPhase {
+
+	//cell[axis][i] is the cell planet i is in along that axis
+	private int[][] cell = new int[0][0];
+
+	//head[h] is the first planet in spot h of the table, next[i] is the planet after
+	//planet i in the same spot, and -1 marks the end
+	private int[] head = new int[0];
+	private int[] next = new int[0];
+	private int mask;
+
+	private final CandidatePairs candidates = new CandidatePairs();
+
+
+
+	/**
+	 * {@inheritDoc}
+	 * The pairs are sorted by their first planet.
+	 */
+	@Override
+	public int findCandidates(double[][] lower, double[][] upper, int size, boolean parallel) {
+		placeInCells(lower, upper, size, lower.length);
+
+		if (parallel) {
+			int chunks = (size + CandidatePairs.CHUNK - 1) / CandidatePairs.CHUNK;
+			candidates.clear(chunks);
+			IntStream.range(0, chunks).parallel().forEach(c -> findInChunk(c, 
+					c * CandidatePairs.CHUNK, Math.min(size, (c + 1) * CandidatePairs.CHUNK),
+					lower, upper));
+		} else {
+			candidates.clear(1);
+			findInChunk(0, 0, size, lower, upper);
+		}
+
+		return candidates.join();
+	}
+
+
+	/**
+	 * Finds the pairs whose first planet has an index from {@code from} up to
+	 * (but not including) {@code to}, and adds them to the list of the given chunk.
+	 *
+	 * @param chunk	The chunk the pairs are added to
+	 * @param from	The index of the first planet checked
+	 * @param to	One more than the index of the last planet checked
+	 * @param lower	The smallest corner of each planet's box
+	 * @param upper	The largest corner of each planet's box
+	 */
+	private void findInChunk(int chunk, int from, int to, double[][] lower, double[][] upper) {
+		int neighbors = 1;
+		for (int a = 0; a < lower.length; a++) {
+			neighbors *= 3;
+		}
+
+		for (int i = from; i < to; i++) {
+			for (int n = 0; n < neighbors; n++) {
+				for (int j = head[hash(i, n)]; j != -1; j = next[j]) {
+					if (j > i && isInNeighbor(j, i, n)
+							&& BroadPhase.overlaps(i, j, lower, upper)) {
+						candidates.add(chunk, i, j);
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Picks the size of the cells, finds the cell of every planet, and puts
+	 * every planet into the table.
+	 *
+	 * @param lower		The smallest corner of each planet's box
+	 * @param upper		The largest corner of each planet's box
+	 * @param size		The number of planets
+	 * @param dimension	The number of axes
+	 */
+	private void placeInCells(double[][] lower, double[][] upper, int size, int dimension) {
+		if (cell.length != dimension || next.length < size) {
+			int capacity = Math.max(size, next.length * 2);
+			cell = new int[dimension][capacity];
+			next = new int[capacity];
+		}
+
+		int tableSize = Integer.highestOneBit(Math.max(1, size)) * 4;
+		if (head.length != tableSize) {
+			head = new int[tableSize];
+		}
+		mask = tableSize - 1;
+		Arrays.fill(head, -1);
+
+		double cellSize = 0;
+		for (int a = 0; a < dimension; a++) {
+			for (int i = 0; i < size; i++) {
+				cellSize = Math.max(cellSize, upper[a][i] - lower[a][i]);
+			}
+		}
+		if (!(cellSize > 0)) {
+			//Every box is a single point, so any size works
+			cellSize = 1;
+		}
+
+		//The neighbor with an offset of zero along every axis is the planet's own cell
+		int ownCell = 0;
+		for (int a = 0; a < dimension; a++) {
+			ownCell = (ownCell * 3) + 1;
+		}
+
+		//Going backwards so each spot in the table lists its planets in order
+		for (int i = size - 1; i >= 0; i--) {
+			for (int a = 0; a < dimension; a++) {
+				cell[a][i] = (int)Math.floor((lower[a][i] + upper[a][i]) / (2 * cellSize));
+			}
+
+			int h = hash(i, ownCell);
+			next[i] = head[h];
+			head[h] = i;
+		}
+	}
+
+	/**
+	 * Finds the spot in the table of one of the cells around planet {@code i}.
+	 * Each digit of {@code n} in base 3 is the offset of the cell along one
+	 * axis, where 0 is one cell back, 1 is the same cell, and 2 is one cell forward.
+	 *
+	 * @param i	The index of a planet
+	 * @param n	Which of the cells around the planet is used
+	 * @return	The spot in the table the cell is in
+	 */
+	private int hash(int i, int n) {
+		long h = 0;
+		for (int a = 0; a < cell.length; a++) {
+			h = (h + cell[a][i] + (n % 3) - 1) * 0x9E3779B97F4A7C15L;
+			n /= 3;
+		}
+		h ^= h >>> 29;
+		return (int)h & mask;
+	}
+
+	/**
+	 * @param j	The index of a planet
+	 * @param i	The index of another planet
+	 * @param n	Which of the cells around planet {@code i} is used, as in {@link #hash(int, int)}
+	 * @return	If planet {@code j} is in that cell
+	 */
+	private boolean isInNeighbor(int j, int i, int n) {
+		for (int a = 0; a < cell.length; a++) {
+			if (cell[a][j] != cell[a][i] + (n % 3) - 1) {
+				return false;
+			}
+			n /= 3;
+		}
+		return true;
+	}
+
+	@Override
+	public int[] getCandidates() {
+		return candidates.getPairs();
+	}
+}
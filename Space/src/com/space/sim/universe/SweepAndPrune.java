@@ -0,0 +1,217 @@
+package com.space.sim.universe;
+
+import java.util.stream.IntStream;
+
+/**
+ * A {@link BroadPhase} that keeps the planets sorted along one axis.  Each
+ * planet's box covers an interval of that axis.  Going through the planets in
+ * order of where their intervals start, a planet's box can only overlap the
+ * boxes of the planets after it whose intervals start before its interval
+ * ends, so only those planets are compared with it.
+ * <p>
+ * Most planets barely move between steps, so the order from the last call is
+ * kept and fixed with an insertion sort, which only takes about as long as
+ * going through the planets once when little has changed.  When the number
+ * of planets changes, the planets are sorted from scratch, and the axis where
+ * the planets are most spread out is picked again.
+ * <p>
+ * Unlike {@link SpatialHashGrid}, the amount of work does not depend on the
+ * dimension, so this works well for any number of dimensions.  It is slower
+ * when the planets are crowded along the chosen axis but spread out along the
+ * others, since many intervals overlap even though few boxes do.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ */
+final class SweepAndPrune implements BroadPhase {
+
+	private int axis;
+
+	//The indices of the planets, sorted by where their box starts along the axis
+	private int[] order = new int[0];
+	private int[] mergeBuffer = new int[0];
+	private int sortedSize = -1;
+	private int sortedDimension = -1;
+
+	private final CandidatePairs candidates = new CandidatePairs();
+
+
+
+	/**
+	 * {@inheritDoc}
+	 * Only the sweep uses multiple threads.  The sorting is always done
+	 * with a single thread.
+	 */
+	@Override
+	public int findCandidates(double[][] lower, double[][] upper, int size, boolean parallel) {
+		//An empty universe has no axes to sort along
+		if (size == 0) {
+			candidates.clear(1);
+			return candidates.join();
+		}
+
+		if (size != sortedSize || lower.length != sortedDimension) {
+			sortFromScratch(lower, size);
+		} else {
+			insertionSort(lower[axis], 0, size);
+		}
+
+		if (parallel) {
+			int chunks = (size + CandidatePairs.CHUNK - 1) / CandidatePairs.CHUNK;
+			candidates.clear(chunks);
+			IntStream.range(0, chunks).parallel().forEach(c -> sweep(c,
+					c * CandidatePairs.CHUNK, Math.min(size, (c + 1) * CandidatePairs.CHUNK),
+					lower, upper, size));
+		} else {
+			candidates.clear(1);
+			sweep(0, 0, size, lower, upper, size);
+		}
+
+		return candidates.join();
+	}
+
+
+	/**
+	 * Finds the pairs whose first planet in the sorted order is at a position
+	 * from {@code from} up to (but not including) {@code to}, and adds them
+	 * to the list of the given chunk.
+	 *
+	 * @param chunk	The chunk the pairs are added to
+	 * @param from	The first position in the sorted order checked
+	 * @param to	One more than the last position in the sorted order checked
+	 * @param lower	The smallest corner of each planet's box
+	 * @param upper	The largest corner of each planet's box
+	 * @param size	The number of planets
+	 */
+	private void sweep(int chunk, int from, int to, double[][] lower, double[][] upper, int size) {
+		double[] start = lower[axis];
+		double[] end = upper[axis];
+
+		for (int k = from; k < to; k++) {
+			int i = order[k];
+
+			for (int m = k + 1; m < size && start[order[m]] <= end[i]; m++) {
+				int j = order[m];
+
+				if (BroadPhase.overlaps(i, j, lower, upper)) {
+					candidates.add(chunk, Math.min(i, j), Math.max(i, j));
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Picks the axis the planets are most spread out along, and sorts every
+	 * planet along it with a merge sort.
+	 *
+	 * @param lower	The smallest corner of each planet's box
+	 * @param size	The number of planets
+	 */
+	private void sortFromScratch(double[][] lower, int size) {
+		if (order.length < size) {
+			order = new int[Math.max(size, order.length * 2)];
+			mergeBuffer = new int[order.length];
+		}
+
+		axis = widestAxis(lower, size);
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		mergeSort(lower[axis], 0, size);
+
+		sortedSize = size;
+		sortedDimension = lower.length;
+	}
+
+	/**
+	 * @param lower	The smallest corner of each planet's box
+	 * @param size	The number of planets
+	 * @return		The axis with the largest variance of the planets' positions
+	 */
+	private static int widestAxis(double[][] lower, int size) {
+		int widest = 0;
+		double widestVariance = -1;
+
+		for (int a = 0; a < lower.length; a++) {
+			double mean = 0;
+			for (int i = 0; i < size; i++) {
+				mean += lower[a][i];
+			}
+			mean /= size;
+
+			double variance = 0;
+			for (int i = 0; i < size; i++) {
+				variance += (lower[a][i] - mean) * (lower[a][i] - mean);
+			}
+
+			if (variance > widestVariance) {
+				widest = a;
+				widestVariance = variance;
+			}
+		}
+		return widest;
+	}
+
+	/**
+	 * Sorts {@code order} from index {@code from} up to (but not including)
+	 * index {@code to}, by the given keys.
+	 *
+	 * @param keys	The value each planet is sorted by
+	 * @param from	The index of the first entry sorted
+	 * @param to	One more than the index of the last entry sorted
+	 */
+	private void mergeSort(double[] keys, int from, int to) {
+		if (to - from <= 16) {
+			insertionSort(keys, from, to);
+			return;
+		}
+
+		int middle = (from + to) >>> 1;
+		mergeSort(keys, from, middle);
+		mergeSort(keys, middle, to);
+
+		System.arraycopy(order, from, mergeBuffer, from, to - from);
+		int left = from;
+		int right = middle;
+		for (int k = from; k < to; k++) {
+			if (right >= to || (left < middle
+					&& keys[mergeBuffer[left]] <= keys[mergeBuffer[right]])) {
+				order[k] = mergeBuffer[left];
+				left++;
+			} else {
+				order[k] = mergeBuffer[right];
+				right++;
+			}
+		}
+	}
+
+	/**
+	 * Sorts {@code order} from index {@code from} up to (but not including)
+	 * index {@code to}, by the given keys.  This is quick when they are
+	 * already nearly sorted.
+	 *
+	 * @param keys	The value each planet is sorted by
+	 * @param from	The index of the first entry sorted
+	 * @param to	One more than the index of the last entry sorted
+	 */
+	private void insertionSort(double[] keys, int from, int to) {
+		for (int k = from + 1; k < to; k++) {
+			int planet = order[k];
+			double key = keys[planet];
+
+			int m = k - 1;
+			while (m >= from && keys[order[m]] > key) {
+				order[m + 1] = order[m];
+				m--;
+			}
+			order[m + 1] = planet;
+		}
+	}
+
+
+	@Override
+	public int[] getCandidates() {
+		return candidates.getPairs();
+	}
+}
@@ -0,0 +1,216 @@
+package com.space.sim.universe;
+
+import java.util.stream.IntStream;
+
+/**
+ * A {@link ForceSolver} that adds up the gravity of every planet exactly,
+ * like {@link DirectSolver}, but only visits each pair of planets once.
+ * By Newton's third law, the pull of planet {@code j} on planet {@code i} is
+ * equal and opposite to the pull of {@code i} on {@code j}, so the distance
+ * between them only needs to be found once to update both planets.  This
+ * roughly halves the amount of math.
+ * <p>
+ * When multiple threads are used, each thread adds its results to its own
+ * copy of the accelerations, and the copies are added together at the end.
+ * This way no two threads ever write to the same number at the same time.
+ * Each thread always handles the same planets, and the copies are always
+ * added in the same order, so the results do not depend on thread timing.
+ * <p>
+ * Pairs can only be shared when every planet is located at its coordinates.
+ * When the accelerations are needed somewhere else (like the trial positions
+ * of Runge-Kutta), or only some planets need them (like with
+ * {@code IntegrationMethod.BLOCK_LEAPFROG}), this solver falls back to a
+ * {@link DirectSolver}, since sharing pairs would still visit every pair.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ * @param <V> The type of vector the planets use
+ */
+public class SymmetricDirectSolver<V extends Vector<V>> implements ForceSolver<V> {
+
+	private final DirectSolver<V> fallback = new DirectSolver<>();
+
+	//threadAccels[t] holds the accelerations summed by task t
+	private double[][][] threadAccels = new double[0][][];
+
+
+	@Override
+	public void calcAccels(ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant, boolean parallel) {
+		if (positions != store.getCoords()) {
+			fallback.calcAccels(store, positions, accels, gravConstant, parallel);
+			return;
+		}
+
+		int dimension = store.dimension();
+		int size = store.size();
+
+		if (!parallel) {
+			for (int a = 0; a < dimension; a++) {
+				for (int i = 0; i < size; i++) {
+					accels[a][i] = 0;
+				}
+			}
+			addPairs(store, accels, 0, 1);
+		} else {
+			int tasks = Math.max(1, Runtime.getRuntime().availableProcessors());
+			fitThreadAccels(store, tasks);
+
+			IntStream.range(0, tasks).parallel().forEach(t -> {
+				double[][] own = threadAccels[t];
+				for (int a = 0; a < dimension; a++) {
+					for (int i = 0; i < size; i++) {
+						own[a][i] = 0;
+					}
+				}
+				addPairs(store, own, t, tasks);
+			});
+
+			//Adding the copies together, split up by axis
+			IntStream.range(0, dimension).parallel().forEach(a -> {
+				for (int i = 0; i < size; i++) {
+					double sum = 0;
+					for (int t = 0; t < tasks; t++) {
+						sum += threadAccels[t][a][i];
+					}
+					accels[a][i] = sum;
+				}
+			});
+		}
+
+		for (int a = 0; a < dimension; a++) {
+			for (int i = 0; i < size; i++) {
+				accels[a][i] *= gravConstant;
+			}
+		}
+	}
+
+	@Override
+	public void calcAccels(ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant, boolean parallel,
+			int[] targets, int targetCount) {
+		fallback.calcAccels(store, positions, accels, gravConstant, parallel, targets, targetCount);
+	}
+
+
+	/**
+	 * Adds the gravity between planet {@code i} and every planet after it
+	 * to {@code sums}, for every {@code i} in {@code first, first + stride,
+	 * first + 2 * stride, ...}.  Planets near the start of the list have more
+	 * planets after them, so spreading them out like this gives every task
+	 * about the same amount of work.  The gravitational constant is not applied.
+	 *
+	 * @param store		The planets whose gravity is acting on each other
+	 * @param sums		Where the accelerations are added
+	 * @param first		The first planet handled
+	 * @param stride	The distance between the planets handled
+	 */
+	private void addPairs(ParticleStore<V> store, double[][] sums, int first, int stride) {
+		if (store.dimension() == 3) {
+			addPairs3D(store, sums, first, stride);
+			return;
+		}
+
+		final int dimension = store.dimension();
+		final double[][] coords = store.getCoords();
+		final double[] mass = store.getMass();
+		final int size = store.size();
+
+		for (int i = first; i < size; i += stride) {
+			for (int j = i + 1; j < size; j++) {
+				if (mass[i] == 0 && mass[j] == 0) {
+					continue;
+				}
+
+				double distSquared = 0;
+				for (int a = 0; a < dimension; a++) {
+					double d = coords[a][j] - coords[a][i];
+					distSquared += d * d;
+				}
+
+				double invDist = 1 / Math.sqrt(distSquared);
+				double invDistCubed = invDist * invDist * invDist;
+				//Like DirectSolver, a planet without mass adds no gravity, even if
+				//the other planet is right on top of it (which would be 0 * infinity)
+				double strengthI = (mass[j] == 0) ? 0 : mass[j] * invDistCubed;
+				double strengthJ = (mass[i] == 0) ? 0 : mass[i] * invDistCubed;
+
+				for (int a = 0; a < dimension; a++) {
+					double d = coords[a][j] - coords[a][i];
+					sums[a][i] += d * strengthI;
+					sums[a][j] -= d * strengthJ;
+				}
+			}
+		}
+	}
+
+	/**
+	 * The three-dimensional version of {@link #addPairs(ParticleStore, double[][], int, int)},
+	 * which keeps planet {@code i}'s values in local variables.
+	 */
+	private void addPairs3D(ParticleStore<V> store, double[][] sums, int first, int stride) {
+		final double[] xs = store.getCoords()[0];
+		final double[] ys = store.getCoords()[1];
+		final double[] zs = store.getCoords()[2];
+		final double[] sumX = sums[0];
+		final double[] sumY = sums[1];
+		final double[] sumZ = sums[2];
+		final double[] mass = store.getMass();
+		final int size = store.size();
+
+		for (int i = first; i < size; i += stride) {
+			final double px = xs[i];
+			final double py = ys[i];
+			final double pz = zs[i];
+			final double massI = mass[i];
+
+			double ax = 0;
+			double ay = 0;
+			double az = 0;
+
+			for (int j = i + 1; j < size; j++) {
+				if (massI == 0 && mass[j] == 0) {
+					continue;
+				}
+
+				double dx = xs[j] - px;
+				double dy = ys[j] - py;
+				double dz = zs[j] - pz;
+
+				double invDist = 1 / Math.sqrt((dx * dx) + (dy * dy) + (dz * dz));
+				double invDistCubed = invDist * invDist * invDist;
+				double strengthI = (mass[j] == 0) ? 0 : mass[j] * invDistCubed;
+				double strengthJ = (massI == 0) ? 0 : massI * invDistCubed;
+
+				ax += dx * strengthI;
+				ay += dy * strengthI;
+				az += dz * strengthI;
+
+				sumX[j] -= dx * strengthJ;
+				sumY[j] -= dy * strengthJ;
+				sumZ[j] -= dz * strengthJ;
+			}
+
+			sumX[i] += ax;
+			sumY[i] += ay;
+			sumZ[i] += az;
+		}
+	}
+
+
+	/**
+	 * Makes sure there is one acceleration buffer for each task,
+	 * and that each buffer can hold every planet in the store.
+	 *
+	 * @param store	The planets the buffers will hold
+	 * @param tasks	The number of tasks
+	 */
+	private void fitThreadAccels(ParticleStore<V> store, int tasks) {
+		if (threadAccels.length != tasks) {
+			threadAccels = new double[tasks][][];
+		}
+		for (int t = 0; t < tasks; t++) {
+			threadAccels[t] = store.fit(threadAccels[t]);
+		}
+	}
+}
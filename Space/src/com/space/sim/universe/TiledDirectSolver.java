@@ -0,0 +1,259 @@
+package com.space.sim.universe;
+
+import java.util.stream.IntStream;
+
+/**
+ * A {@link ForceSolver} that adds up the gravity of every planet exactly,
+ * like {@link DirectSolver}, but in an order that is friendlier to the
+ * processor's cache.
+ * <p>
+ * {@code DirectSolver} loops over every source planet for each target
+ * planet, so once there are enough planets the source coordinates no longer
+ * fit in the cache and have to be read from main memory again for every
+ * target.  This solver instead splits the planets into tiles.  A tile of
+ * targets is paired with one tile of sources at a time, and the sources are
+ * small enough ({@value #SOURCE_TILE} planets) to stay in the L1 cache while
+ * every target in the tile uses them.  The accelerations of the target tile
+ * stay in the cache as well, since they are only written to by that tile.
+ * <p>
+ * When only some planets need accelerations, the tiles of targets are made
+ * from those planets alone, so the work is cut down by the same amount as
+ * with {@link DirectSolver}.
+ * <p>
+ * When multiple threads are used, each target tile is handed to the common
+ * {@code ForkJoinPool} as a separate piece of work.  Tiles never share
+ * targets, so no two threads write to the same number.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ * @param <V> The type of vector the planets use
+ */
+public class TiledDirectSolver<V extends Vector<V>> implements ForceSolver<V> {
+
+	//Three coordinates and a mass for 512 planets is 16 KB, which fits in
+	//a typical 32 KB L1 cache alongside the target tile.
+	static final int SOURCE_TILE = 512;
+	static final int TARGET_TILE = 128;
+
+
+	@Override
+	public void calcAccels(ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant, boolean parallel) {
+		calcTiles(store, positions, accels, gravConstant, parallel, null, store.size());
+	}
+
+	@Override
+	public void calcAccels(ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant, boolean parallel,
+			int[] targets, int targetCount) {
+		calcTiles(store, positions, accels, gravConstant, parallel, targets, targetCount);
+	}
+
+
+	/**
+	 * Splits the targets into tiles and finds the acceleration of every target.
+	 *
+	 * @param store			The planets whose gravity is acting on each other
+	 * @param positions		Where each planet is located when finding its acceleration
+	 * @param accels		Where the acceleration of each planet is stored
+	 * @param gravConstant	The gravitational constant
+	 * @param parallel		If multiple threads should be used
+	 * @param targets		The indices of the planets that need accelerations,
+	 * 						or {@code null} if every planet does
+	 * @param targetCount	How many planets need accelerations
+	 */
+	private void calcTiles(ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant, boolean parallel,
+			int[] targets, int targetCount) {
+		int tiles = (targetCount + TARGET_TILE - 1) / TARGET_TILE;
+
+		if (parallel) {
+			IntStream.range(0, tiles).parallel().forEach(t -> calcTile(t, store,
+					positions, accels, gravConstant, targets, targetCount));
+		} else {
+			for (int t = 0; t < tiles; t++) {
+				calcTile(t, store, positions, accels, gravConstant, targets, targetCount);
+			}
+		}
+	}
+
+	/**
+	 * Finds the acceleration of every planet in the given target tile.  The
+	 * tile holds the targets from {@code targets[tile * TARGET_TILE]} onwards.
+	 *
+	 * @param tile			The index of the target tile
+	 * @param store			The planets whose gravity is acting on each other
+	 * @param positions		Where each planet is located when finding its acceleration
+	 * @param accels		Where the acceleration of each planet is stored
+	 * @param gravConstant	The gravitational constant
+	 * @param targets		The indices of the planets that need accelerations,
+	 * 						or {@code null} if every planet does
+	 * @param targetCount	How many planets need accelerations
+	 */
+	private void calcTile(int tile, ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant, int[] targets, int targetCount) {
+		final int dimension = store.dimension();
+		final int targetStart = tile * TARGET_TILE;
+		final int targetEnd = Math.min(targetStart + TARGET_TILE, targetCount);
+
+		for (int a = 0; a < dimension; a++) {
+			for (int n = targetStart; n < targetEnd; n++) {
+				accels[a][target(targets, n)] = 0;
+			}
+		}
+
+		for (int sourceStart = 0; sourceStart < store.size(); sourceStart += SOURCE_TILE) {
+			final int sourceEnd = Math.min(sourceStart + SOURCE_TILE, store.size());
+
+			switch (dimension) {
+				case 2:
+					addTile2D(store, positions, accels, targets, targetStart, targetEnd,
+							sourceStart, sourceEnd);
+					break;
+				case 3:
+					addTile3D(store, positions, accels, targets, targetStart, targetEnd,
+							sourceStart, sourceEnd);
+					break;
+				default:
+					addTileND(store, positions, accels, targets, targetStart, targetEnd,
+							sourceStart, sourceEnd);
+					break;
+			}
+		}
+
+		for (int a = 0; a < dimension; a++) {
+			for (int n = targetStart; n < targetEnd; n++) {
+				accels[a][target(targets, n)] *= gravConstant;
+			}
+		}
+	}
+
+	/**
+	 * @param targets	The indices of the planets that need accelerations,
+	 * 					or {@code null} if every planet does
+	 * @param n			The position of the target in {@code targets}
+	 * @return			The index of the {@code n}th target
+	 */
+	private static int target(int[] targets, int n) {
+		return (targets == null) ? n : targets[n];
+	}
+
+
+	/**
+	 * Adds the gravity of every source planet in {@code [sourceStart, sourceEnd)}
+	 * to the targets from {@code targetStart} up to (but not including)
+	 * {@code targetEnd}, not including the gravitational constant.  This is
+	 * the two-dimensional version.
+	 */
+	private void addTile2D(ParticleStore<V> store, double[][] positions, double[][] accels,
+			int[] targets, int targetStart, int targetEnd, int sourceStart, int sourceEnd) {
+		final double[] xs = store.getCoords()[0];
+		final double[] ys = store.getCoords()[1];
+		final double[] mass = store.getMass();
+
+		for (int n = targetStart; n < targetEnd; n++) {
+			final int i = target(targets, n);
+			final double px = positions[0][i];
+			final double py = positions[1][i];
+
+			double ax = 0;
+			double ay = 0;
+
+			for (int j = sourceStart; j < sourceEnd; j++) {
+				if (j == i || mass[j] == 0) {
+					continue;
+				}
+
+				double dx = xs[j] - px;
+				double dy = ys[j] - py;
+
+				double invDist = 1 / Math.sqrt((dx * dx) + (dy * dy));
+				double strength = mass[j] * invDist * invDist * invDist;
+
+				ax += dx * strength;
+				ay += dy * strength;
+			}
+
+			accels[0][i] += ax;
+			accels[1][i] += ay;
+		}
+	}
+
+	/**
+	 * The three-dimensional version of
+	 * {@link #addTile2D(ParticleStore, double[][], double[][], int[], int, int, int, int)}.
+	 */
+	private void addTile3D(ParticleStore<V> store, double[][] positions, double[][] accels,
+			int[] targets, int targetStart, int targetEnd, int sourceStart, int sourceEnd) {
+		final double[] xs = store.getCoords()[0];
+		final double[] ys = store.getCoords()[1];
+		final double[] zs = store.getCoords()[2];
+		final double[] mass = store.getMass();
+
+		for (int n = targetStart; n < targetEnd; n++) {
+			final int i = target(targets, n);
+			final double px = positions[0][i];
+			final double py = positions[1][i];
+			final double pz = positions[2][i];
+
+			double ax = 0;
+			double ay = 0;
+			double az = 0;
+
+			for (int j = sourceStart; j < sourceEnd; j++) {
+				if (j == i || mass[j] == 0) {
+					continue;
+				}
+
+				double dx = xs[j] - px;
+				double dy = ys[j] - py;
+				double dz = zs[j] - pz;
+
+				double invDist = 1 / Math.sqrt((dx * dx) + (dy * dy) + (dz * dz));
+				double strength = mass[j] * invDist * invDist * invDist;
+
+				ax += dx * strength;
+				ay += dy * strength;
+				az += dz * strength;
+			}
+
+			accels[0][i] += ax;
+			accels[1][i] += ay;
+			accels[2][i] += az;
+		}
+	}
+
+	/**
+	 * The version of
+	 * {@link #addTile2D(ParticleStore, double[][], double[][], int[], int, int, int, int)}
+	 * for any number of dimensions.
+	 */
+	private void addTileND(ParticleStore<V> store, double[][] positions, double[][] accels,
+			int[] targets, int targetStart, int targetEnd, int sourceStart, int sourceEnd) {
+		final int dimension = store.dimension();
+		final double[][] coords = store.getCoords();
+		final double[] mass = store.getMass();
+
+		for (int n = targetStart; n < targetEnd; n++) {
+			final int i = target(targets, n);
+			for (int j = sourceStart; j < sourceEnd; j++) {
+				if (j == i || mass[j] == 0) {
+					continue;
+				}
+
+				double distSquared = 0;
+				for (int a = 0; a < dimension; a++) {
+					double d = coords[a][j] - positions[a][i];
+					distSquared += d * d;
+				}
+
+				double invDist = 1 / Math.sqrt(distSquared);
+				double strength = mass[j] * invDist * invDist * invDist;
+
+				for (int a = 0; a < dimension; a++) {
+					accels[a][i] += (coords[a][j] - positions[a][i]) * strength;
+				}
+			}
+		}
+	}
+}
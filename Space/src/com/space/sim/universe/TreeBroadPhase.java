@@ -0,0 +1,125 @@
+package com.space.sim.universe;
+
+import java.util.stream.IntStream;
+
+/**
+ * A {@link BroadPhase} that reuses the {@link BarnesHutTree} built by a
+ * {@link BarnesHutSolver} during the step, instead of building a second
+ * structure just for collisions.  Every node of the tree is given a box around
+ * its planets, and the tree is searched for overlapping pairs while skipping
+ * every pair of nodes whose boxes don't overlap.  See
+ * {@link BarnesHutTree#findOverlaps}.
+ * <p>
+ * Planets without mass are left out of the tree, so each of them is checked
+ * against the tree separately, and against each other directly.  There are
+ * usually very few of them.
+ * <p>
+ * The tree can only be used for the same planets it was built from.  When
+ * there is no tree to use, such as when a different force solver is in use, or
+ * when planets have been combined since the tree was built, a
+ * {@link SweepAndPrune} is used instead.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ */
+final class TreeBroadPhase implements BroadPhase {
+
+	private final SweepAndPrune fallback = new SweepAndPrune();
+	private BroadPhase lastUsed = fallback;
+
+	private BarnesHutTree<?> tree;
+
+	//The indices of the planets that aren't in the tree
+	private int[] outside = new int[0];
+	private int outsideCount;
+
+	private final CandidatePairs candidates = new CandidatePairs();
+
+
+
+	/**
+	 * Sets the tree used by the next call to {@link #findCandidates}.  The
+	 * tree must have been built from the same planets, in the same order, that
+	 * are being checked, and any planets may have moved since then.
+	 *
+	 * @param tree	The tree, or {@code null} to use a {@link SweepAndPrune}
+	 */
+	void useTree(BarnesHutTree<?> tree) {
+		this.tree = tree;
+	}
+
+
+	@Override
+	public int findCandidates(double[][] lower, double[][] upper, int size, boolean parallel) {
+		if (tree == null || tree.size() != size) {
+			lastUsed = fallback;
+			return fallback.findCandidates(lower, upper, size, parallel);
+		}
+		lastUsed = this;
+
+		tree.fitBoxes(lower, upper);
+
+		if (outside.length < size) {
+			outside = new int[Math.max(size, outside.length * 2)];
+		}
+		outsideCount = 0;
+		for (int i = 0; i < size; i++) {
+			if (!tree.isInTree(i)) {
+				outside[outsideCount] = i;
+				outsideCount++;
+			}
+		}
+
+		//Each part of the tree search gets a chunk, and the
+		//planets outside the tree get the last one
+		int parts = tree.overlapParts();
+		if (parallel) {
+			candidates.clear(parts + 1);
+			IntStream.range(0, parts + 1).parallel()
+					.forEach(c -> findInPart(c, c, parts, lower, upper));
+		} else {
+			candidates.clear(1);
+			for (int c = 0; c <= parts; c++) {
+				findInPart(c, 0, parts, lower, upper);
+			}
+		}
+
+		return candidates.join();
+	}
+
+
+	/**
+	 * Does one part of the search, and adds the pairs found to the given chunk.
+	 *
+	 * @param part	The part being done.  Every part before {@code parts} is a part
+	 * 				of the tree search, and the last one checks the planets
+	 * 				outside the tree.
+	 * @param chunk	The chunk the pairs are added to
+	 * @param parts	The number of parts of the tree search
+	 * @param lower	The smallest corner of each planet's box
+	 * @param upper	The largest corner of each planet's box
+	 */
+	private void findInPart(int part, int chunk, int parts, double[][] lower, double[][] upper) {
+		if (part < parts) {
+			tree.findOverlaps(part, lower, upper, candidates, chunk);
+			return;
+		}
+
+		for (int k = 0; k < outsideCount; k++) {
+			int i = outside[k];
+			tree.findOverlapsWith(i, lower, upper, candidates, chunk);
+
+			for (int m = k + 1; m < outsideCount; m++) {
+				if (BroadPhase.overlaps(i, outside[m], lower, upper)) {
+					candidates.add(chunk, i, outside[m]);
+				}
+			}
+		}
+	}
+
+
+	@Override
+	public int[] getCandidates() {
+		return (lastUsed == this) ? candidates.getPairs() : fallback.getCandidates();
+	}
+}
@@ -1,6 +1,7 @@
 package com.space.sim.universe;
 
 import java.util.ArrayList;
+import java.util.stream.IntStream;
 
 import com.space.sim.gui.ColorInfo;
 
@@ -31,17 +32,154 @@ public abstract class Universe<V extends Vector<V>> {
 	 * positions and velocities.  More information (and some examples) can be found on
 	 * <a href="http://www.physics.umd.edu/hep/drew/numerical_integration/">this</a>
 	 * University of Maryland article.
+	 * <p>
+	 * {@code LEAPFROG} is the kick-drift-kick leapfrog method.  It is as
+	 * accurate as Verlet, but only calculates gravity once per step, since the
+	 * acceleration at the end of one step is reused at the start of the next.
+	 * <p>
+	 * {@code HERMITE} is the fourth order Hermite predictor-corrector method.
+	 * Along with the acceleration, it calculates the jerk (how fast the
+	 * acceleration is changing), which lets it be as accurate as Runge-Kutta
+	 * while only calculating gravity once per step.  The acceleration and jerk
+	 * are always found by adding up every pair of planets, so the force method
+	 * isn't used.
+	 * <p>
+	 * {@code ADAPTIVE_RUNGE_KUTTA} is the fourth order Runge-Kutta method, but
+	 * the time step grows or shrinks each update based on an estimate of how
+	 * much error the last step had.  Quiet scenes move quickly, while close
+	 * encounters are slowed down until they are handled accurately.
+	 * <p>
+	 * {@code BLOCK_LEAPFROG} is a leapfrog method where each planet takes
+	 * steps of its own size, no larger than the time step.  Only the planets
+	 * finishing a step need their gravity recalculated, which saves a lot of
+	 * time when a few planets need much smaller steps than the rest.  See
+	 * {@link BlockTimestepper}.
 	 * 
 	 * @author David Krug
-	 * @version Mar 5, 2023
+	 * @version October 17, 2026
 	 */
 	public enum IntegrationMethod {
-		EULER, VERTLET, RUNGE_KUTTA_FOUR;
+		EULER, VERTLET, RUNGE_KUTTA_FOUR, LEAPFROG, HERMITE,
+		ADAPTIVE_RUNGE_KUTTA, BLOCK_LEAPFROG;
 	}
 	
 	private IntegrationMethod integrateMethod = IntegrationMethod.EULER;
 	
 	
+	/**
+	 * This enum represents the built-in options for how the gravity acting on
+	 * each planet is calculated.  {@code DIRECT} uses a {@link DirectSolver},
+	 * which adds up the gravity of every other planet.  It is exact but takes
+	 * O(n<sup>2</sup>) time.  {@code SYMMETRIC_DIRECT} uses a
+	 * {@link SymmetricDirectSolver}, which gives the same result while only
+	 * visiting each pair of planets once.  {@code TILED_DIRECT} uses a
+	 * {@link TiledDirectSolver}, which also gives the same result but works
+	 * through the planets in cache-sized tiles.  {@code VECTORIZED_DIRECT} uses
+	 * a {@link VectorizedSolver}, which gives the same result using loops the JIT
+	 * compiler can turn into SIMD instructions.  {@code BARNES_HUT} uses a
+	 * {@link BarnesHutSolver}, which approximates the gravity of faraway groups
+	 * of planets and takes O(n log n) time.
+	 * 
+	 * @author David Krug
+	 * @version October 17, 2026
+	 */
+	public enum ForceMethod {
+		DIRECT, SYMMETRIC_DIRECT, TILED_DIRECT, VECTORIZED_DIRECT, BARNES_HUT;
+	}
+	
+	private ForceMethod forceMethod = ForceMethod.DIRECT;
+	private ForceSolver<V> forceSolver = new DirectSolver<>();
+	
+	/**
+	 * This enum represents the options for how planets that might be touching
+	 * are found before checking for collisions.  {@code SPATIAL_HASH} uses a
+	 * {@link SpatialHashGrid}, which sorts the planets into a grid of cells and
+	 * is best in two and three dimensions.  {@code SWEEP_AND_PRUNE} uses a
+	 * {@link SweepAndPrune}, which keeps the planets sorted along one axis
+	 * between steps, and works equally well in any number of dimensions.
+	 * {@code GRAVITY_TREE} uses a {@link TreeBroadPhase}, which searches the
+	 * tree already built for {@code ForceMethod.BARNES_HUT}, so only one tree
+	 * is built per step.  With any other force method it works like
+	 * {@code SWEEP_AND_PRUNE}.
+	 * 
+	 * @author David Krug
+	 * @version October 17, 2026
+	 */
+	public enum CollisionMethod {
+		SPATIAL_HASH, SWEEP_AND_PRUNE, GRAVITY_TREE;
+	}
+	
+	private CollisionMethod collisionMethod = CollisionMethod.SPATIAL_HASH;
+	private BroadPhase broadPhase = new SpatialHashGrid();
+	
+	/**
+	 * The opening angle every universe starts with.
+	 */
+	public static final double STARTING_OPENING_ANGLE = 0.5;
+	private double openingAngle = STARTING_OPENING_ANGLE;
+	
+	//Each universe has its own constants, so universes with different constants
+	//can be updated at the same time.  The config is only ever replaced, never
+	//changed, and each update reads it once.  See PhysicsConfig.
+	private volatile PhysicsConfig physics = PhysicsConfig.DEFAULT;
+	
+	//The seed given to presets that place planets randomly.  See setPresetSeed().
+	private long presetSeed;
+	private boolean presetSeeded;
+	
+	//The planets are moved by working on the arrays in here.  See ParticleStore.
+	private final ParticleStore<V> store = new ParticleStore<>();
+	
+	//Buffers handed to the force solver, laid out like the arrays in the store.
+	//They are kept between steps so that new arrays don't need to be made every step.
+	//For Runge-Kutta, accels holds the first stage, rkAccels2 and rkAccels3 hold
+	//the next two, and the last stage is written straight into the store's accel
+	//array, since that is where it ends up.  positions holds the trial positions.
+	private double[][] positions;
+	private double[][] accels;
+	private double[][] rkAccels2;
+	private double[][] rkAccels3;
+	
+	//Set after a LEAPFROG or HERMITE step, since the acceleration each planet
+	//was left with can be reused by the next step.  See canReuseAccel().
+	private boolean reusableAccel;
+	private double reusableGravConstant;
+	private int reusablePlanetCount;
+	
+	private final BlockTimestepper<V> blockTimestepper = new BlockTimestepper<>();
+	
+	//Used by collisionCheck().  Each planet's box is the smallest box that
+	//contains it.  groupParent and groupNext hold the groups of touching planets.
+	//stepStartCoords holds where each planet was at the start of the step.
+	private double[][] stepStartCoords;
+	private double[][] lowerBounds;
+	private double[][] upperBounds;
+	private int[] groupParent = new int[0];
+	private int[] groupNext = new int[0];
+	//Which candidate pairs are touching, when multiple threads are used
+	private boolean[] touching = new boolean[0];
+	
+	//Decides when multiple threads are used.  See MultithreadCalibrator.
+	private final MultithreadCalibrator calibrator = new MultithreadCalibrator();
+	
+	//How many planets each thread moves at a time
+	static final int PLANET_CHUNK = 1024;
+	
+	//Used by ADAPTIVE_RUNGE_KUTTA.  The error of each step is kept under the
+	//tolerance, and the step can change by at most the given factors per update.
+	static final double ADAPTIVE_TOLERANCE = 1e-6;
+	private static final double MIN_STEP_GROWTH = 0.2;
+	private static final double MAX_STEP_GROWTH = 2;
+	private static final int MAX_ATTEMPTS = 5;
+	private double adaptiveTimeStep = Double.NaN;
+	private double[][] savedCoords;
+	private double[][] savedVelocity;
+	private double[][] endAccels;
+	
+	//The jerk of each planet at the start of a HERMITE step
+	private double[][] jerks;
+	
+	
 	protected Universe() {
 		baryCoords = createNewVector();
 	}
@@ -53,170 +191,1030 @@ public abstract class Universe<V extends Vector<V>> {
 	 * will have planets that touch each other collide.
 	 */
 	public void update() {
-		prepareMovement();
-		move();
+		boolean parallel = calibrator.startStep(planets.size());
+		
+		store.load(planets);
+		if (collisionEnabled) {
+			stepStartCoords = store.fit(stepStartCoords);
+			copy(store.getCoords(), stepStartCoords);
+		}
+		
+		prepareMovement(physics, parallel);
+		store.writeBack();
 
 		if (collisionEnabled) {
-			collisionCheck();
+			collisionCheck(parallel);
 		}
+		
+		calibrator.finishStep();
 	}
 	
 
 	/**
-	 * Has each planet calculate where its next position will be.
-	 */
-	private void prepareMovement() {
-		if (shouldMultithread()) {
-			switch (integrateMethod) {
-	    		case EULER:
-	    			planets.parallelStream().forEach(p -> p.prepareEulerMove(planets));
-	    			break;
-	    		case VERTLET:
-	    			planets.parallelStream().forEach(p -> p.prepareRKMove(planets));
-	    			break;
-	    		case RUNGE_KUTTA_FOUR:
-	    			planets.parallelStream().forEach(p -> p.prepareRKMove(planets));
-	    			break;
+	 * Calculates where each planet in {@code store} will be after this step,
+	 * and updates the store to match.  The accelerations each integration
+	 * method needs are found by the {@link ForceSolver}, which handles every
+	 * planet in a single call.
+	 * 
+	 * @param physics	The constants used for this step
+	 * @param parallel	If multiple threads should be used
+	 */
+	private void prepareMovement(PhysicsConfig physics, boolean parallel) {
+		accels = store.fit(accels);
+		
+		double gravConstant = physics.getGravConstant();
+		double timeStep = physics.getTimeStep();
+		
+		if (integrateMethod == IntegrationMethod.HERMITE) {
+			jerks = store.fit(jerks);
+		}
+		
+		//The solver is only prepared when the gravity is found here.  When the
+		//acceleration is reused, the planets are moved before the integration
+		//method finds any gravity, so it prepares the solver itself.  Hermite
+		//never prepares it, since the jerk is always found directly.
+		if (canReuseAccel(gravConstant)) {
+			copy(store.getAccel(), accels);
+			if (integrateMethod == IntegrationMethod.HERMITE) {
+				copy(store.getJerk(), jerks);
 			}
+		} else if (integrateMethod == IntegrationMethod.HERMITE) {
+			forceSolver.calcAccelsAndJerks(store, accels, jerks, gravConstant, parallel);
 		} else {
-			for (Planet<V> planet: planets) {
-	        	switch (integrateMethod) {
-	        		case EULER:
-	        			planet.prepareEulerMove(planets);
-	        			break;
-	        		case VERTLET:
-	        			planet.prepareVertletMove(planets);
-	        			break;
-	        		case RUNGE_KUTTA_FOUR:
-	        			planet.prepareRKMove(planets);
-	        			break;
-	        	}
-	        }
+			forceSolver.prepare(store);
+			forceSolver.calcAccels(store, store.getCoords(), accels, gravConstant, parallel);
+		}
+		reusableAccel = false;
+		
+		switch (integrateMethod) {
+    		case EULER:
+    			eulerMove(timeStep, parallel);
+    			break;
+    		case VERTLET:
+    			vertletMove(timeStep, parallel);
+    			break;
+    		case RUNGE_KUTTA_FOUR:
+    			rungeKuttaMove(timeStep, gravConstant, parallel);
+    			break;
+    		case LEAPFROG:
+    			leapfrogMove(timeStep, gravConstant, parallel);
+    			markAccelReusable(gravConstant);
+    			break;
+    		case HERMITE:
+    			hermiteMove(timeStep, gravConstant, parallel);
+    			markAccelReusable(gravConstant);
+    			break;
+    		case ADAPTIVE_RUNGE_KUTTA:
+    			adaptiveRungeKuttaMove(timeStep, gravConstant, parallel);
+    			//The acceleration at the end of the step was found for the error estimate
+    			markAccelReusable(gravConstant);
+    			break;
+    		case BLOCK_LEAPFROG:
+    			blockTimestepper.step(store, forceSolver, accels,
+    					timeStep, gravConstant, parallel);
+    			//Every planet is active on the last tick, so they all end
+    			//with the acceleration at their new coordinates
+    			markAccelReusable(gravConstant);
+    			break;
 		}
     }
-    
+	
 	/**
-	 * Determines and returns whether using multiple threads would
-	 * noticeably speed up the amount of time it takes to execute
-	 * the {@link #prepareMovement()} method.
+	 * Moves every planet in {@code store} using the Euler integration method.
+	 * This method assumes {@code accels} holds the acceleration of each
+	 * planet at its coordinates.
 	 * 
-	 * @return	If multiple threads should be used
+	 * @param timeStep	The length of the step
+	 * @param parallel	If multiple threads should be used
 	 */
-	private boolean shouldMultithread() {
-		switch (integrateMethod) {
-			//TODO Testing needs to be done to determine actual values
-			default:
-				return planets.size() >= 500;
+	private void eulerMove(double timeStep, boolean parallel) {
+		if (parallel) {
+			forEachChunk((from, to) -> eulerMove(timeStep, from, to));
+		} else {
+			eulerMove(timeStep, 0, store.size());
 		}
 	}
 	
 	/**
-	 * This method has each planet move to the position it calculated it would
-	 * be at.  It should only be called after {@link #prepareMovement()}.
+	 * Moves the planets in {@code store} from index {@code from} up to (but not
+	 * including) index {@code to} using the Euler integration method.
+	 * 
+	 * @param timeStep	The length of the step
+	 * @param from		The index of the first planet moved
+	 * @param to		One more than the index of the last planet moved
 	 */
-    private void move() {
-    	//Multithreading seems to have little positive effect, so it is not used
-    	for (Planet<V> planet: planets) {
-        	planet.move();
-        }
+	private void eulerMove(double timeStep, int from, int to) {
+		double[][] coords = store.getCoords();
+		double[][] velocity = store.getVelocity();
+		double[][] accel = store.getAccel();
+		
+		for (int a = 0; a < store.dimension(); a++) {
+			for (int i = from; i < to; i++) {
+				velocity[a][i] += accels[a][i] * timeStep;
+				coords[a][i] += velocity[a][i] * timeStep;
+				accel[a][i] = accels[a][i];
+			}
+		}
+	}
+	
+	/**
+	 * Moves every planet in {@code store} using the Verlet integration method.
+	 * This method assumes {@code accels} holds the acceleration of each
+	 * planet at its coordinates, and that the store still holds the
+	 * acceleration from the previous step.
+	 * 
+	 * @param timeStep	The length of the step
+	 * @param parallel	If multiple threads should be used
+	 */
+	private void vertletMove(double timeStep, boolean parallel) {
+		if (parallel) {
+			forEachChunk((from, to) -> vertletMove(timeStep, from, to));
+		} else {
+			vertletMove(timeStep, 0, store.size());
+		}
+	}
+	
+	/**
+	 * Moves the planets in {@code store} from index {@code from} up to (but not
+	 * including) index {@code to} using the Verlet integration method.
+	 * 
+	 * @param timeStep	The length of the step
+	 * @param from		The index of the first planet moved
+	 * @param to		One more than the index of the last planet moved
+	 */
+	private void vertletMove(double timeStep, int from, int to) {
+		double[][] coords = store.getCoords();
+		double[][] velocity = store.getVelocity();
+		double[][] accel = store.getAccel();
+		
+		for (int a = 0; a < store.dimension(); a++) {
+			for (int i = from; i < to; i++) {
+				coords[a][i] += velocity[a][i] * timeStep;
+				coords[a][i] += accel[a][i] * (timeStep * timeStep * 0.5);
+				
+				velocity[a][i] += (accels[a][i] + accel[a][i]) * (timeStep * 0.5);
+				accel[a][i] = accels[a][i];
+			}
+		}
+	}
+	
+	/**
+	 * Moves every planet in {@code store} using the kick-drift-kick leapfrog
+	 * integration method.  Each planet's velocity is changed by half a step of
+	 * its acceleration (the kick), the planet moves a full step at that velocity
+	 * (the drift), and then the velocity gets another half step of the
+	 * acceleration at the new coordinates.  This method assumes {@code accels}
+	 * holds the acceleration of each planet at its coordinates.
+	 * <p>
+	 * The acceleration at the new coordinates is also the acceleration at the
+	 * start of the next step, so it is saved and reused.  This means each step
+	 * only needs gravity calculated once (see {@link #canReuseAccel(double)}).
+	 * Like Verlet, leapfrog keeps the energy of orbits from drifting over
+	 * long periods of time.
+	 * 
+	 * @param timeStep		The length of the step
+	 * @param gravConstant	The gravitational constant
+	 * @param parallel		If the force solver should use multiple threads
+	 */
+	private void leapfrogMove(double timeStep, double gravConstant, boolean parallel) {
+		if (parallel) {
+			forEachChunk((from, to) -> leapfrogKickAndDrift(timeStep, from, to));
+		} else {
+			leapfrogKickAndDrift(timeStep, 0, store.size());
+		}
+		
+		forceSolver.prepare(store);
+		forceSolver.calcAccels(store, store.getCoords(), accels, gravConstant, parallel);
+		
+		if (parallel) {
+			forEachChunk((from, to) -> leapfrogKick(timeStep, from, to));
+		} else {
+			leapfrogKick(timeStep, 0, store.size());
+		}
+	}
+	
+	/**
+	 * Gives the planets in {@code store} from index {@code from} up to (but not
+	 * including) index {@code to} the first kick and the drift of
+	 * {@link #leapfrogMove(double, double, boolean)}.
+	 * 
+	 * @param timeStep	The length of the step
+	 * @param from		The index of the first planet moved
+	 * @param to		One more than the index of the last planet moved
+	 */
+	private void leapfrogKickAndDrift(double timeStep, int from, int to) {
+		double[][] coords = store.getCoords();
+		double[][] velocity = store.getVelocity();
+		
+		for (int a = 0; a < store.dimension(); a++) {
+			for (int i = from; i < to; i++) {
+				velocity[a][i] += accels[a][i] * (timeStep * 0.5);
+				coords[a][i] += velocity[a][i] * timeStep;
+			}
+		}
+	}
+	
+	/**
+	 * Gives the planets in {@code store} from index {@code from} up to (but not
+	 * including) index {@code to} the second kick of {@link #leapfrogMove(double, double, boolean)}.
+	 * 
+	 * @param timeStep	The length of the step
+	 * @param from		The index of the first planet moved
+	 * @param to		One more than the index of the last planet moved
+	 */
+	private void leapfrogKick(double timeStep, int from, int to) {
+		double[][] velocity = store.getVelocity();
+		double[][] accel = store.getAccel();
+		
+		for (int a = 0; a < store.dimension(); a++) {
+			for (int i = from; i < to; i++) {
+				velocity[a][i] += accels[a][i] * (timeStep * 0.5);
+				accel[a][i] = accels[a][i];
+			}
+		}
+	}
+	
+	/**
+	 * Moves every planet in {@code store} using the fourth order Hermite
+	 * integration method.  This method assumes {@code accels} and {@code jerks}
+	 * hold the acceleration and jerk of each planet at its coordinates.
+	 * <p>
+	 * First, every planet's coordinates and velocity are predicted using its
+	 * acceleration and jerk.  The acceleration and jerk are then found at the
+	 * predicted coordinates and velocities, and the prediction is corrected
+	 * using the acceleration and jerk at both the start and end of the step.
+	 * This is fourth order like Runge-Kutta, but only needs gravity calculated
+	 * once per step, since the acceleration and jerk at the end of one step are
+	 * reused at the start of the next.
+	 * 
+	 * @param timeStep		The length of the step
+	 * @param gravConstant	The gravitational constant
+	 * @param parallel		If the force solver should use multiple threads
+	 */
+	private void hermiteMove(double timeStep, double gravConstant, boolean parallel) {
+		savedCoords = store.fit(savedCoords);
+		savedVelocity = store.fit(savedVelocity);
+		copy(store.getCoords(), savedCoords);
+		copy(store.getVelocity(), savedVelocity);
+		
+		if (parallel) {
+			forEachChunk((from, to) -> hermitePredict(timeStep, from, to));
+		} else {
+			hermitePredict(timeStep, 0, store.size());
+		}
+		
+		forceSolver.calcAccelsAndJerks(store, store.getAccel(), store.getJerk(),
+				gravConstant, parallel);
+		
+		if (parallel) {
+			forEachChunk((from, to) -> hermiteCorrect(timeStep, from, to));
+		} else {
+			hermiteCorrect(timeStep, 0, store.size());
+		}
+	}
+	
+	/**
+	 * Predicts the coordinates and velocity of the planets in {@code store}
+	 * from index {@code from} up to (but not including) index {@code to},
+	 * as the first part of {@link #hermiteMove(double, double, boolean)}.
+	 * 
+	 * @param timeStep	The length of the step
+	 * @param from		The index of the first planet moved
+	 * @param to		One more than the index of the last planet moved
+	 */
+	private void hermitePredict(double timeStep, int from, int to) {
+		double[][] coords = store.getCoords();
+		double[][] velocity = store.getVelocity();
+		
+		for (int a = 0; a < store.dimension(); a++) {
+			for (int i = from; i < to; i++) {
+				coords[a][i] += velocity[a][i] * timeStep;
+				coords[a][i] += accels[a][i] * (timeStep * timeStep / 2);
+				coords[a][i] += jerks[a][i] * (timeStep * timeStep * timeStep / 6);
+				
+				velocity[a][i] += accels[a][i] * timeStep;
+				velocity[a][i] += jerks[a][i] * (timeStep * timeStep / 2);
+			}
+		}
+	}
+	
+	/**
+	 * Corrects the coordinates and velocity of the planets in {@code store}
+	 * from index {@code from} up to (but not including) index {@code to},
+	 * as the last part of {@link #hermiteMove(double, double, boolean)}.  This
+	 * method assumes the store holds the acceleration and jerk at the
+	 * predicted coordinates and velocity.
+	 * 
+	 * @param timeStep	The length of the step
+	 * @param from		The index of the first planet moved
+	 * @param to		One more than the index of the last planet moved
+	 */
+	private void hermiteCorrect(double timeStep, int from, int to) {
+		double[][] coords = store.getCoords();
+		double[][] velocity = store.getVelocity();
+		double[][] accel = store.getAccel();
+		double[][] jerk = store.getJerk();
+		
+		for (int a = 0; a < store.dimension(); a++) {
+			for (int i = from; i < to; i++) {
+				velocity[a][i] = savedVelocity[a][i]
+						+ ((accels[a][i] + accel[a][i]) * (timeStep / 2))
+						+ ((jerks[a][i] - jerk[a][i]) * (timeStep * timeStep / 12));
+				
+				coords[a][i] = savedCoords[a][i]
+						+ ((savedVelocity[a][i] + velocity[a][i]) * (timeStep / 2))
+						+ ((accels[a][i] - accel[a][i]) * (timeStep * timeStep / 12));
+			}
+		}
+	}
+	
+	/**
+	 * Determines whether the acceleration each planet in {@code store} was
+	 * left with by the last step is still the acceleration at its coordinates
+	 * (and for {@code IntegrationMethod.HERMITE}, the same for the jerk).
+	 * This is only true if the last step was made with
+	 * {@code IntegrationMethod.LEAPFROG}, {@code IntegrationMethod.HERMITE},
+	 * {@code IntegrationMethod.ADAPTIVE_RUNGE_KUTTA}, or
+	 * {@code IntegrationMethod.BLOCK_LEAPFROG},
+	 * and nothing that changes gravity has happened since.  Planets being
+	 * added, removed, or combined, as well as changes to the integration
+	 * method, the gravitational constant, or the force solver, all prevent
+	 * the acceleration from being reused.
+	 * 
+	 * @param gravConstant	The gravitational constant for this step
+	 * @return				If the acceleration in {@code store} can be reused
+	 */
+	private boolean canReuseAccel(double gravConstant) {
+		return reusableAccel && reusableGravConstant == gravConstant
+				&& reusablePlanetCount == planets.size();
+	}
+	
+	/**
+	 * Records that the acceleration each planet in {@code store} was left
+	 * with can be reused by the next step.
+	 * 
+	 * @param gravConstant	The gravitational constant used in this step
+	 */
+	private void markAccelReusable(double gravConstant) {
+		reusableAccel = true;
+		reusableGravConstant = gravConstant;
+		reusablePlanetCount = planets.size();
+	}
+	
+	/**
+	 * Moves every planet in {@code store} using the fourth order Runge-Kutta
+	 * integration method.  This method assumes {@code accels} holds the
+	 * acceleration of each planet at its coordinates.
+	 * 
+	 * @param timeStep		The length of the step
+	 * @param gravConstant	The gravitational constant
+	 * @param parallel		If the force solver should use multiple threads
+	 */
+	private void rungeKuttaMove(double timeStep, double gravConstant, boolean parallel) {
+		findRungeKuttaStages(timeStep, gravConstant, parallel, false);
+		finishRungeKuttaMove(timeStep, parallel);
+	}
+	
+	/**
+	 * Finds the accelerations of the last three stages of the fourth order
+	 * Runge-Kutta integration method, and stores them in {@code rkAccels2},
+	 * {@code rkAccels3}, and the acceleration array of {@code store}.  The
+	 * first stage is the acceleration in {@code accels}.
+	 * <p>
+	 * Each stage is found at a trial position, which is
+	 * {@code coords + step * (velocity + accelStep * prevAccel)}, where
+	 * {@code prevAccel} is the acceleration found in the previous stage.
+	 * Normally only the planet feeling the gravity is moved to its trial
+	 * position, while the gravity still comes from every other planet's
+	 * coordinates.  If {@code moveSources} is true, every planet is moved to
+	 * its trial position for each stage, which is how the method is meant to
+	 * work but requires {@link ForceSolver#prepare(ParticleStore)} to be called
+	 * for every stage.  In that case {@code savedCoords} must hold the
+	 * coordinates of every planet, and the store is set back to them afterwards.
+	 * 
+	 * @param timeStep		The length of the step
+	 * @param gravConstant	The gravitational constant
+	 * @param parallel		If the force solver should use multiple threads
+	 * @param moveSources	If every planet is moved to its trial position
+	 */
+	private void findRungeKuttaStages(double timeStep, double gravConstant,
+			boolean parallel, boolean moveSources) {
+		positions = store.fit(positions);
+		rkAccels2 = store.fit(rkAccels2);
+		rkAccels3 = store.fit(rkAccels3);
+		
+		double[][] start = moveSources ? savedCoords : store.getCoords();
+		
+		findTrialPositions(start, accels, 0, timeStep / 2, parallel);
+		calcTrialAccels(rkAccels2, gravConstant, parallel, moveSources);
+		
+		findTrialPositions(start, accels, timeStep / 2, timeStep / 2, parallel);
+		calcTrialAccels(rkAccels3, gravConstant, parallel, moveSources);
+		
+		findTrialPositions(start, rkAccels2, timeStep / 2, timeStep, parallel);
+		calcTrialAccels(store.getAccel(), gravConstant, parallel, moveSources);
+		
+		if (moveSources) {
+			copy(savedCoords, store.getCoords());
+		}
+	}
+	
+	/**
+	 * Finds the acceleration of every planet at its position in {@code positions}.
+	 * 
+	 * @param trialAccels	Where the accelerations are stored
+	 * @param gravConstant	The gravitational constant
+	 * @param parallel		If the force solver should use multiple threads
+	 * @param moveSources	If the gravity comes from every planet being at its
+	 * 						position in {@code positions}, rather than its coordinates
+	 */
+	private void calcTrialAccels(double[][] trialAccels, double gravConstant,
+			boolean parallel, boolean moveSources) {
+		if (moveSources) {
+			copy(positions, store.getCoords());
+			forceSolver.prepare(store);
+			forceSolver.calcAccels(store, store.getCoords(), trialAccels, gravConstant, parallel);
+		} else {
+			forceSolver.calcAccels(store, positions, trialAccels, gravConstant, parallel);
+		}
+	}
+	
+	/**
+	 * Moves every planet in {@code store} using the stages found by
+	 * {@link #findRungeKuttaStages(double, double, boolean, boolean)}.
+	 * 
+	 * @param timeStep	The length of the step
+	 * @param parallel	If multiple threads should be used
+	 */
+	private void finishRungeKuttaMove(double timeStep, boolean parallel) {
+		if (parallel) {
+			forEachChunk((from, to) -> finishRungeKuttaMove(timeStep, from, to));
+		} else {
+			finishRungeKuttaMove(timeStep, 0, store.size());
+		}
+	}
+	
+	/**
+	 * Moves the planets in {@code store} from index {@code from} up to (but not
+	 * including) index {@code to} using the stages found by
+	 * {@link #findRungeKuttaStages(double, double, boolean, boolean)}.
+	 * 
+	 * @param timeStep	The length of the step
+	 * @param from		The index of the first planet moved
+	 * @param to		One more than the index of the last planet moved
+	 */
+	private void finishRungeKuttaMove(double timeStep, int from, int to) {
+		double[][] coords = store.getCoords();
+		double[][] velocity = store.getVelocity();
+		double[][] accel = store.getAccel();
+		
+		for (int a = 0; a < store.dimension(); a++) {
+			for (int i = from; i < to; i++) {
+				//The position terms are the velocity at each stage (kr1 to kr4) weighted
+				//by 1/6, 1/3, 1/3, and 1/6.  Since every kr is the starting velocity
+				//plus some acceleration, they simplify to the following
+				coords[a][i] += velocity[a][i] * timeStep;
+				coords[a][i] += accels[a][i] * (timeStep * timeStep / 6);
+				coords[a][i] += rkAccels2[a][i] * (timeStep * timeStep / 6);
+				coords[a][i] += rkAccels3[a][i] * (timeStep * timeStep / 6);
+				
+				velocity[a][i] += accels[a][i] * (timeStep / 6);
+				velocity[a][i] += rkAccels2[a][i] * (timeStep / 3);
+				velocity[a][i] += rkAccels3[a][i] * (timeStep / 3);
+				velocity[a][i] += accel[a][i] * (timeStep / 6);
+			}
+		}
+	}
+	
+	/**
+	 * Moves every planet in {@code store} using the fourth order Runge-Kutta
+	 * integration method, with a time step that changes every update.  This
+	 * method assumes {@code accels} holds the acceleration of each planet at
+	 * its coordinates.
+	 * <p>
+	 * Unlike {@link #rungeKuttaMove(double, double, boolean)}, every planet is moved to
+	 * its trial position for each stage, since the error estimate below is only
+	 * meaningful for the full method.  After the step, the acceleration at the
+	 * new coordinates is found.  Together with the four stages, this gives a
+	 * third order estimate of the step (the "embedded" method), and the
+	 * difference between the two estimates is roughly the error of the third
+	 * order one.  The error of each planet is divided by how far that planet
+	 * moved (or how much its velocity changed), and the largest of these is
+	 * compared against {@link #ADAPTIVE_TOLERANCE}.  If the error is too large,
+	 * the step is undone and tried again with a smaller step.  Either way, the
+	 * next step size is chosen so the error should end up just under the tolerance.
+	 * 
+	 * @param firstTimeStep	The length of the first step, if this method
+	 * 						hasn't picked a step yet
+	 * @param gravConstant	The gravitational constant
+	 * @param parallel		If the force solver should use multiple threads
+	 */
+	private void adaptiveRungeKuttaMove(double firstTimeStep, double gravConstant, boolean parallel) {
+		if (!(adaptiveTimeStep > 0)) {
+			adaptiveTimeStep = firstTimeStep;
+		}
+		
+		savedCoords = store.fit(savedCoords);
+		savedVelocity = store.fit(savedVelocity);
+		endAccels = store.fit(endAccels);
+		copy(store.getCoords(), savedCoords);
+		copy(store.getVelocity(), savedVelocity);
+		
+		for (int attempt = 1; ; attempt++) {
+			double timeStep = adaptiveTimeStep;
+			
+			findRungeKuttaStages(timeStep, gravConstant, parallel, true);
+			finishRungeKuttaMove(timeStep, parallel);
+			
+			forceSolver.prepare(store);
+			forceSolver.calcAccels(store, store.getCoords(), endAccels, gravConstant, parallel);
+			
+			double error = rungeKuttaError(timeStep, parallel);
+			double factor = (error > 0)
+					? 0.9 * Math.cbrt(ADAPTIVE_TOLERANCE / error) : MAX_STEP_GROWTH;
+			adaptiveTimeStep = timeStep
+					* Math.max(MIN_STEP_GROWTH, Math.min(MAX_STEP_GROWTH, factor));
+			
+			if (error <= ADAPTIVE_TOLERANCE || attempt == MAX_ATTEMPTS) {
+				copy(endAccels, store.getAccel());
+				return;
+			}
+			
+			//Undoing the step.  The solver doesn't need to be prepared again,
+			//since every stage of the next attempt prepares it.
+			copy(savedCoords, store.getCoords());
+			copy(savedVelocity, store.getVelocity());
+		}
+	}
+	
+	/**
+	 * Finds the error of the last step taken by
+	 * {@link #adaptiveRungeKuttaMove(double, double, boolean)}, as described there.
+	 * The third order estimate weights the velocities and accelerations of the
+	 * four stages and the end of the step by 1/6, 1/3, 1/3, 0, and 1/6, so its
+	 * difference from the fourth order estimate only depends on the last two.
+	 * 
+	 * @param timeStep	The length of the step
+	 * @param parallel	If multiple threads should be used
+	 * @return			The largest error of any planet, relative to how much it moved
+	 */
+	private double rungeKuttaError(double timeStep, boolean parallel) {
+		if (!parallel) {
+			return rungeKuttaError(timeStep, 0, store.size());
+		}
+		
+		//The largest error is the same no matter which order the chunks finish in
+		int size = store.size();
+		int chunks = (size + PLANET_CHUNK - 1) / PLANET_CHUNK;
+		return IntStream.range(0, chunks).parallel()
+				.mapToDouble(c -> rungeKuttaError(timeStep,
+						c * PLANET_CHUNK, Math.min(size, (c + 1) * PLANET_CHUNK)))
+				.max().orElse(0);
+	}
+	
+	/**
+	 * Finds the error of the planets in {@code store} from index {@code from}
+	 * up to (but not including) index {@code to}, as described in
+	 * {@link #rungeKuttaError(double, boolean)}.
+	 * 
+	 * @param timeStep	The length of the step
+	 * @param from		The index of the first planet
+	 * @param to		One more than the index of the last planet
+	 * @return			The largest error of any of those planets
+	 */
+	private double rungeKuttaError(double timeStep, int from, int to) {
+		double[][] coords = store.getCoords();
+		double[][] velocity = store.getVelocity();
+		double[][] accel = store.getAccel();
+		
+		double worst = 0;
+		for (int i = from; i < to; i++) {
+			double coordsError = 0;
+			double coordsChange = 0;
+			double velocityError = 0;
+			double velocityChange = 0;
+			
+			for (int a = 0; a < store.dimension(); a++) {
+				//The velocity of the fourth stage minus the velocity at the end of the step
+				double d = (savedVelocity[a][i] + (rkAccels3[a][i] * timeStep)) - velocity[a][i];
+				coordsError += d * d;
+				d = coords[a][i] - savedCoords[a][i];
+				coordsChange += d * d;
+				
+				d = accel[a][i] - endAccels[a][i];
+				velocityError += d * d;
+				d = velocity[a][i] - savedVelocity[a][i];
+				velocityChange += d * d;
+			}
+			
+			//Both errors are timeStep / 6 times the differences above
+			double scale = (timeStep * timeStep) / 36;
+			if (coordsChange > 0) {
+				worst = Math.max(worst, Math.sqrt(coordsError * scale / coordsChange));
+			}
+			if (velocityChange > 0) {
+				worst = Math.max(worst, Math.sqrt(velocityError * scale / velocityChange));
+			}
+		}
+		return worst;
+	}
+	
+	/**
+	 * Copies the values of every planet in {@code store} from one
+	 * array to another.  Both arrays must be laid out like the store.
+	 * 
+	 * @param from	The array being copied
+	 * @param to	The array the values are copied into
+	 */
+	private void copy(double[][] from, double[][] to) {
+		for (int a = 0; a < store.dimension(); a++) {
+			System.arraycopy(from[a], 0, to[a], 0, store.size());
+		}
+	}
+	
+	/**
+	 * Fills {@code positions} with the trial positions used by
+	 * {@link #findRungeKuttaStages(double, double, boolean, boolean)}.
+	 * 
+	 * @param start			The coordinates the trial positions start from
+	 * @param prevAccels	The accelerations found in the previous stage
+	 * @param accelStep		How long {@code prevAccels} is applied to the velocity
+	 * @param step			How long the resulting velocity is applied to the coordinates
+	 * @param parallel		If multiple threads should be used
+	 */
+	private void findTrialPositions(double[][] start, double[][] prevAccels,
+			double accelStep, double step, boolean parallel) {
+		if (parallel) {
+			forEachChunk((from, to) -> findTrialPositions(start, prevAccels, accelStep, step, from, to));
+		} else {
+			findTrialPositions(start, prevAccels, accelStep, step, 0, store.size());
+		}
+	}
+	
+	/**
+	 * Fills {@code positions} with the trial positions of the planets from
+	 * index {@code from} up to (but not including) index {@code to}.
+	 * 
+	 * @param start			The coordinates the trial positions start from
+	 * @param prevAccels	The accelerations found in the previous stage
+	 * @param accelStep		How long {@code prevAccels} is applied to the velocity
+	 * @param step			How long the resulting velocity is applied to the coordinates
+	 * @param from			The index of the first planet
+	 * @param to			One more than the index of the last planet
+	 */
+	private void findTrialPositions(double[][] start, double[][] prevAccels,
+			double accelStep, double step, int from, int to) {
+		double[][] velocity = store.getVelocity();
+		
+		for (int a = 0; a < store.dimension(); a++) {
+			for (int i = from; i < to; i++) {
+				positions[a][i] = start[a][i] + (velocity[a][i] * step)
+						+ (prevAccels[a][i] * (accelStep * step));
+			}
+		}
+	}
+    
+	/**
+	 * Splits the planets in {@code store} into chunks of {@value #PLANET_CHUNK}
+	 * planets, and runs the given action on each chunk using the threads of
+	 * the common {@code ForkJoinPool}.  No two chunks share a planet, so the
+	 * action can write to the arrays of its own planets freely.
+	 * <p>
+	 * Making the lambda for the action allocates memory, so integration
+	 * methods only call this when multiple threads are being used.  Otherwise
+	 * they call the action directly on every planet.
+	 * 
+	 * @param action	What is done to each chunk
+	 */
+	private void forEachChunk(PlanetRange action) {
+		forEachChunk(store.size(), action);
+	}
+	
+	/**
+	 * Splits the indices from 0 up to (but not including) {@code size} into
+	 * chunks, and runs the given action on each chunk, like
+	 * {@link #forEachChunk(PlanetRange)}.  This is also used by
+	 * {@link BlockTimestepper}, which doesn't always work on every planet.
+	 * 
+	 * @param size		The number of indices
+	 * @param action	What is done to each chunk
+	 */
+	static void forEachChunk(int size, PlanetRange action) {
+		int chunks = (size + PLANET_CHUNK - 1) / PLANET_CHUNK;
+		
+		IntStream.range(0, chunks).parallel().forEach(c -> 
+				action.run(c * PLANET_CHUNK, Math.min(size, (c + 1) * PLANET_CHUNK)));
+	}
+	
+	/**
+	 * Something done to the planets in {@code store} from index {@code from}
+	 * up to (but not including) index {@code to}, or to the indices
+	 * in that range of some other list of planets.
+	 * 
+	 * @author David Krug
+	 * @version October 17, 2026
+	 */
+	@FunctionalInterface
+	interface PlanetRange {
+		void run(int from, int to);
+	}
+	
+    /**
+     * Checks to see if any planets are touching.  If some are,
+     * {@link #createCollision(int)} is executed.
+     * <p>
+     * A planet is only tested against the planets near it, which are found
+     * with the {@link BroadPhase} of the current {@link CollisionMethod}.
+     * Every touching pair is found before any planets are combined.  Planets
+     * that touch each other, or touch a planet that touches the other, and so
+     * on, are put in the same group, and each group becomes a single planet.
+     * Which planets are combined does not depend on the order the pairs are
+     * found in.  If any planets collided, another pass is made to see if the
+     * newly created planets are colliding.
+     * <p>
+     * The first pass checks if planets touched at any point during the step,
+     * assuming each planet moved in a straight line from where it started the
+     * step.  This way, fast planets can't pass through each other between
+     * updates when the time step is large.  Planets that collide are still
+     * combined where they are at the end of the step.  Later passes only check
+     * where the planets are now, since the planets they create didn't move.
+     */
+    private void collisionCheck(boolean parallel) {
+    	boolean swept = true;
+    	while (mergeTouchingPlanets(swept, parallel)) {
+    		store.load(planets);
+    		swept = false;
+    	}
     }
     
-
+    /**
+     * Makes one pass of {@link #collisionCheck(boolean)}.  This method assumes
+     * {@code store} holds the current coordinates and radius of every planet.
+     * 
+     * If multiple threads are used, they find the touching pairs, but the
+     * planets are always combined by a single thread.
+     * 
+     * @param swept		If planets are checked along the whole step, in which case
+     * 					{@code stepStartCoords} must hold where each planet started
+     * @param parallel	If multiple threads should be used
+     * @return			If any planets collided
+     */
+    private boolean mergeTouchingPlanets(boolean swept, boolean parallel) {
+    	int size = store.size();
+    	double[][] coords = store.getCoords();
+    	double[][] start = swept ? stepStartCoords : coords;
+    	double[] radius = store.getRadius();
+    	
+    	//Each box holds the planet at both ends of the step, and so everywhere in between
+    	lowerBounds = store.fit(lowerBounds);
+    	upperBounds = store.fit(upperBounds);
+    	for (int a = 0; a < store.dimension(); a++) {
+    		for (int i = 0; i < size; i++) {
+    			lowerBounds[a][i] = Math.min(start[a][i], coords[a][i]) - radius[i];
+    			upperBounds[a][i] = Math.max(start[a][i], coords[a][i]) + radius[i];
+    		}
+    	}
+    	
+    	if (groupParent.length < size) {
+    		groupParent = new int[Math.max(size, groupParent.length * 2)];
+    		groupNext = new int[groupParent.length];
+    	}
+    	for (int i = 0; i < size; i++) {
+    		groupParent[i] = i;
+    		groupNext[i] = -1;
+    	}
+    	
+    	//The gravity tree only matches the planets on the first pass
+    	if (broadPhase instanceof TreeBroadPhase) {
+    		BarnesHutTree<V> tree = null;
+    		if (swept && forceSolver instanceof BarnesHutSolver) {
+    			tree = ((BarnesHutSolver<V>) forceSolver).getTree();
+    		}
+    		((TreeBroadPhase) broadPhase).useTree(tree);
+    	}
+    	
+    	int count = broadPhase.findCandidates(lowerBounds, upperBounds, size, parallel);
+    	int[] candidates = broadPhase.getCandidates();
+    	boolean anyCollided = false;
+    	
+    	if (parallel) {
+    		if (touching.length < count) {
+    			touching = new boolean[Math.max(count, touching.length * 2)];
+    		}
+    		IntStream.range(0, count).parallel().forEach(k ->
+    				touching[k] = isTouching(candidates[2 * k], candidates[2 * k + 1], swept));
+    		
+    		for (int k = 0; k < count; k++) {
+    			if (touching[k]) {
+    				joinGroups(candidates[2 * k], candidates[2 * k + 1]);
+    				anyCollided = true;
+    			}
+    		}
+    	} else {
+    		for (int k = 0; k < count; k++) {
+    			if (isTouching(candidates[2 * k], candidates[2 * k + 1], swept)) {
+    				joinGroups(candidates[2 * k], candidates[2 * k + 1]);
+    				anyCollided = true;
+    			}
+    		}
+    	}
+    	
+    	if (anyCollided) {
+    		removeAndCombineGroups();
+    	}
+    	return anyCollided;
+    }
     
+    /**
+     * @param i		The index of a planet
+     * @param j		The index of another planet
+     * @param swept	If the planets are checked along the whole step
+     * @return		If the planets are touching, or touched during the step
+     */
+    private boolean isTouching(int i, int j, boolean swept) {
+    	if (swept) {
+    		return touchedDuringStep(i, j);
+    	}
+    	return store.getPlanet(i).isTouching(store.getPlanet(j));
+    }
     
     /**
-     * Checks to see if any planets are touching.  If some are,
-     * {@link #createCollision(Planet, Planet)} is executed.
+     * Checks if two planets touched at any point during the step, assuming
+     * each one moved in a straight line from {@code stepStartCoords} to its
+     * current coordinates.  Seen from planet {@code i}, planet {@code j} moves
+     * in a straight line as well, so this finds the closest that line gets to
+     * planet {@code i}.
+     * 
+     * @param i	The index of a planet
+     * @param j	The index of another planet
+     * @return	If the planets touched during the step
      */
-    private void collisionCheck() {
-        for (int i = 0; i < planets.size(); i++) {
-            Planet<V> planet1 = planets.get(i);
-            
-            for (int j = (i + 1); j < planets.size(); j++) {
-                Planet<V> planet2 = planets.get(j);
-
-                if (planet1.isTouching(planet2)) {
-                    createCollision(planet1, planet2);
-                    
-                    //Going back one to see if the newly created planet is colliding
-                    i--;
-                    break;
-                }
-            }
-        }
+    private boolean touchedDuringStep(int i, int j) {
+    	double[][] coords = store.getCoords();
+    	double[] radius = store.getRadius();
+    	
+    	//Where j starts compared to i, and how far it moves compared to i
+    	double startDotMove = 0;
+    	double moveSquared = 0;
+    	for (int a = 0; a < store.dimension(); a++) {
+    		double startDiff = stepStartCoords[a][j] - stepStartCoords[a][i];
+    		double move = (coords[a][j] - stepStartCoords[a][j])
+    				- (coords[a][i] - stepStartCoords[a][i]);
+    		startDotMove += startDiff * move;
+    		moveSquared += move * move;
+    	}
+    	
+    	//The fraction of the step at which the planets are closest
+    	double closest = 0;
+    	if (moveSquared > 0) {
+    		closest = Math.max(0, Math.min(1, -startDotMove / moveSquared));
+    	}
+    	
+    	double distSquared = 0;
+    	for (int a = 0; a < store.dimension(); a++) {
+    		double startDiff = stepStartCoords[a][j] - stepStartCoords[a][i];
+    		double move = (coords[a][j] - stepStartCoords[a][j])
+    				- (coords[a][i] - stepStartCoords[a][i]);
+    		double diff = startDiff + (move * closest);
+    		distSquared += diff * diff;
+    	}
+    	
+    	double touchDist = radius[i] + radius[j];
+    	return distSquared <= touchDist * touchDist;
     }
     
     /**
-     * Combines two planets into one assuming a perfectly inelastic collision 
-     * (maximum energy is lost).  This method does not check to see if the
-     * two planets are touching.  The new planet's mass is the sum of the two
-     * planets' masses, and if the sum equals zero then no new planet is made.
-     * The new planet's position is the two planets' center of gravity, and the
-     * new planets' velocity is the weighted average of the two planets' velocities,
-     * where the weight is the two planets' masses.  After the new planet is made
-     * (or not, if the total masses were zero), the two planets are removed from
-     * the universe.
-     * <p>
-     * When the two planets collide, each of their paths are updated one last time to
-     * end at where the new planet is formed.
+     * Puts the groups of the two given planets together.  Each group is a tree
+     * of planets, where {@code groupParent} holds the parent of each planet.
+     * The root is always the planet with the smallest index, so the groups end
+     * up the same whatever order they are joined in.
      * 
-     * @param pl1	The first planet in the collision
-     * @param pl2	The second planet in the collision
+     * @param i	The index of a planet
+     * @param j	The index of another planet
      */
-    private void createCollision(Planet<V> pl1, Planet<V> pl2) {
-    	double totalMass = pl1.getMass() + pl2.getMass();
+    private void joinGroups(int i, int j) {
+    	int rootI = findGroup(i);
+    	int rootJ = findGroup(j);
     	
-    	if (totalMass != 0) {
-    		V newCoords = weightedMidpoint(
-    				pl1.getCoords(), pl1.getMass(), pl2.getCoords(), pl2.getMass());
-    		
-    		V newVelocity = weightedMidpoint(
-    				pl1.getVelocity(), pl1.getMass(), pl2.getVelocity(), pl2.getMass());
-    		
-    		
-    		paths.finishPath(pl1, newCoords);
-            paths.finishPath(pl2, newCoords);
-            
-            
-            double totalUnsignedMass = Math.abs(pl1.getMass()) + Math.abs(pl2.getMass());
-            
-            //We are essentially finding the weighted average of each planet's color
-            float red = (float)Math.abs(((pl1.getMass() * pl1.getColorInfo().getRed())
-            		+ (pl2.getMass() * pl2.getColorInfo().getRed())) 
-            		/ totalUnsignedMass);
-            float green = (float)Math.abs(((pl1.getMass() * pl1.getColorInfo().getGreen())
-            		+ (pl2.getMass() * pl2.getColorInfo().getGreen())) 
-            		/ totalUnsignedMass);
-            float blue = (float)Math.abs(((pl1.getMass() * pl1.getColorInfo().getBlue())
-            		+ (pl2.getMass() * pl2.getColorInfo().getBlue())) 
-            		/ totalUnsignedMass);
-            
-            ColorInfo newColor = new ColorInfo(red, green, blue);
-            
-            createPlanet(newCoords, newVelocity, totalMass, newColor);
+    	if (rootI < rootJ) {
+    		groupParent[rootJ] = rootI;
+    	} else if (rootJ < rootI) {
+    		groupParent[rootI] = rootJ;
+    	}
+    }
+    
+    /**
+     * Finds the root of the given planet's group.  Along the way, every
+     * planet that is passed is pointed at its grandparent, which keeps the
+     * trees from getting tall.
+     * 
+     * @param i	The index of a planet
+     * @return	The index of the root of the planet's group
+     */
+    private int findGroup(int i) {
+    	while (groupParent[i] != i) {
+    		groupParent[i] = groupParent[groupParent[i]];
+    		i = groupParent[i];
+    	}
+    	return i;
+    }
+    
+    /**
+     * Removes every planet that is in a group with another planet, and then
+     * adds the planet each group becomes.  The remaining planets keep their
+     * order, and the new planets are added after them in order of the
+     * smallest index in each group.
+     */
+    private void removeAndCombineGroups() {
+    	int size = store.size();
+    	
+    	//Linking the planets of each group in order, starting from the root
+    	for (int i = size - 1; i >= 0; i--) {
+    		int root = findGroup(i);
+    		if (root != i) {
+    			groupNext[i] = groupNext[root];
+    			groupNext[root] = i;
+    		}
     	}
     	
-    	planets.remove(pl1);
-        planets.remove(pl2);
+    	//Moving every planet that isn't in a group forward, in one pass
+    	int kept = 0;
+    	for (int i = 0; i < size; i++) {
+    		if (groupParent[i] == i && groupNext[i] == -1) {
+    			planets.set(kept, store.getPlanet(i));
+    			kept++;
+    		}
+    	}
+    	while (planets.size() > kept) {
+    		planets.remove(planets.size() - 1);
+    	}
+    	
+    	for (int i = 0; i < size; i++) {
+    		if (groupParent[i] == i && groupNext[i] != -1) {
+    			createCollision(i);
+    		}
+    	}
+    	
+    	reusableAccel = false;
     }
     
     /**
-     * A weighted midpoint can be thought of the center of mass for two points, if
-     * the given weights were the masses of the points.  In a slightly more mathematical
-     * sense, you scale each point by its respective weight, find the midpoint of 
-     * the scaled points, and then shrink the result by the sum of both weights.
+     * Combines a group of planets into one assuming a perfectly inelastic
+     * collision (maximum energy is lost).  This method does not check to see if
+     * the planets are touching.  The new planet's mass is the sum of the planets'
+     * masses, and if the sum equals zero then no new planet is made.  The new
+     * planet's position is the planets' center of gravity, and the new planet's
+     * velocity is the weighted average of the planets' velocities, where the
+     * weight is each planet's mass.  The planets themselves must already have
+     * been removed from the universe.
+     * <p>
+     * When the planets collide, each of their paths are updated one last time to
+     * end at where the new planet is formed.
      * 
-     * @param v1		The first point
-     * @param weight1	The weight of the first point
-     * @param v2		The second point
-     * @param weight2	The weight of the second point
-     * @return			The weighted average of v1 and v2
+     * @param root	The index in {@code store} of the first planet in the group
      */
-    private V weightedMidpoint(V v1, double weight1, V v2, double weight2) {
-    	V mid = v1.getMultiplyLength(weight1);
-    	mid.addMultiplied(v2, weight2);
-    	mid.multiplyLength(1 / (weight1 + weight2));
-    	return mid;
+    private void createCollision(int root) {
+    	double totalMass = 0;
+    	double totalUnsignedMass = 0;
+    	for (int i = root; i != -1; i = groupNext[i]) {
+    		totalMass += store.getPlanet(i).getMass();
+    		totalUnsignedMass += Math.abs(store.getPlanet(i).getMass());
+    	}
+    	
+    	if (totalMass == 0) {
+    		return;
+    	}
+    	
+    	V newCoords = createNewVector();
+    	V newVelocity = createNewVector();
+    	double red = 0;
+    	double green = 0;
+    	double blue = 0;
+    	
+    	for (int i = root; i != -1; i = groupNext[i]) {
+    		Planet<V> p = store.getPlanet(i);
+    		
+    		newCoords.addMultiplied(p.getCoords(), p.getMass());
+    		newVelocity.addMultiplied(p.getVelocity(), p.getMass());
+    		
+    		red += p.getMass() * p.getColorInfo().getRed();
+    		green += p.getMass() * p.getColorInfo().getGreen();
+    		blue += p.getMass() * p.getColorInfo().getBlue();
+    	}
+    	
+    	newCoords.multiplyLength(1 / totalMass);
+    	newVelocity.multiplyLength(1 / totalMass);
+    	
+    	for (int i = root; i != -1; i = groupNext[i]) {
+    		paths.finishPath(store.getPlanet(i), newCoords);
+    	}
+    	
+    	//We are essentially finding the weighted average of each planet's color
+    	ColorInfo newColor = new ColorInfo((float)Math.abs(red / totalUnsignedMass),
+    			(float)Math.abs(green / totalUnsignedMass),
+    			(float)Math.abs(blue / totalUnsignedMass));
+    	
+    	createPlanet(newCoords, newVelocity, totalMass, newColor);
     }
     
     /**
@@ -230,6 +1228,21 @@ public abstract class Universe<V extends Vector<V>> {
     protected abstract void createPlanet(
     		V coords, V velocity, double mass, ColorInfo color);
     
+    /**
+     * Adds a newly made planet to this universe, and gives it this universe's
+     * default density.  Planets should be added with this method instead of
+     * being added to {@code planets} directly.
+     * 
+     * @param planet	The new planet
+     */
+    protected void addNewPlanet(Planet<V> planet) {
+    	double defaultDensity = physics.getDefaultDensity();
+    	if (planet.density != defaultDensity) {
+    		planet.setDensity(defaultDensity);
+    	}
+    	planets.add(planet);
+    }
+    
     
     /**
      * Calculates the center of mass, or barycenter, for all the planets in
@@ -241,6 +1254,12 @@ public abstract class Universe<V extends Vector<V>> {
     	V weightedCoords = createNewVector();
     	double totalMass = 0;
     	
+    	//UniverseND doesn't know its dimension yet when the constructor
+    	//makes baryCoords, so it may need to be made again
+    	if (baryCoords.dimension() != weightedCoords.dimension()) {
+    		baryCoords = createNewVector();
+    	}
+    	
     	for (Planet<V> p: planets) {
     		weightedCoords.addMultiplied(p.getCoords(), p.getMass());
             totalMass += p.getMass();
@@ -280,6 +1299,41 @@ public abstract class Universe<V extends Vector<V>> {
      */
     public abstract void loadPresets(int presetNum);
     
+    /**
+     * Makes the presets that place planets randomly use the given seed, so
+     * that they place the planets the same way every time they are loaded.
+     * Different seeds give different, but equally likely, scenes.
+     * 
+     * @param seed	The seed used by the presets
+     */
+    public void setPresetSeed(long seed) {
+    	presetSeed = seed;
+    	presetSeeded = true;
+    }
+    
+    /**
+     * Picks the seed for one of the random number generators of a preset.  If
+     * {@link #setPresetSeed(long)} hasn't been called, the given seed is used
+     * and printed to the standard error so that the scene can be loaded again.
+     * It isn't printed to the standard output, where it would be mixed in
+     * with anything written there, like the results of a headless run.
+     * 
+     * @param name		What the seed is printed as
+     * @param unseeded	The seed used if no seed was given
+     * @param stream	Which of the preset's random number generators the seed
+     * 					is for, so that each one gets a different seed
+     * @return			The seed
+     */
+    protected long pickPresetSeed(String name, long unseeded, int stream) {
+    	if (presetSeeded) {
+    		//Multiplying by an odd constant keeps nearby seeds from sharing streams
+    		return presetSeed ^ (stream * 0x9E3779B97F4A7C15L);
+    	}
+    	
+    	System.err.println(name + ": " + unseeded);
+    	return unseeded;
+    }
+    
     /**
      * Each preset found in {@link #loadPresets(int)} should have a name, and
      * this method returns that name.
@@ -317,6 +1371,7 @@ public abstract class Universe<V extends Vector<V>> {
      */
     public void removeAllPlanets() {
         planets.clear();
+        reusableAccel = false;
     }
     
     
@@ -326,27 +1381,40 @@ public abstract class Universe<V extends Vector<V>> {
      * back to their starting values.
      */
     public void resetVariables() {
-        Planet.setGravConstant(Planet.STARTING_GRAV_CONST);
-        setAndApplyDefaultDensity(Planet.STARTING_DEFAULT_DENSITY);
+        setPhysicsConfig(physics
+        		.withGravConstant(PhysicsConfig.DEFAULT.getGravConstant())
+        		.withDefaultDensity(PhysicsConfig.DEFAULT.getDefaultDensity()));
     }
     
     
     /**
-     * Sets the default density of {@link Planet} and then 
-     * changes each planet's density to the default density.
+     * Replaces the constants this universe is updated with.  If the default
+     * density is different, every planet's density is changed to the new one.
+     * If the time step is different, {@code IntegrationMethod.ADAPTIVE_RUNGE_KUTTA}
+     * starts over from the new time step instead of the one it picked last.
+     * <p>
+     * Like every other change to a universe, this should only be made between
+     * two updates.  The update after it uses the new constants from its start.
      * 
-     * @param density	The new default density
+     * @param physics	The new constants
      */
-    public void setAndApplyDefaultDensity(double density) {
-        if (density > 0) {
-        	Planet.setDefaultDensity(density);
-            for (Planet<V> planet: planets) {
-            	planet.setDensityToDefault();
-            }
-        } else {
-        	throw new IllegalArgumentException("Density is " + density
-        			+ " when it should be more than zero");
-        }
+    public void setPhysicsConfig(PhysicsConfig physics) {
+    	if (physics.getDefaultDensity() != this.physics.getDefaultDensity()) {
+    		for (Planet<V> planet: planets) {
+    			planet.setDensity(physics.getDefaultDensity());
+    		}
+    	}
+    	if (physics.getTimeStep() != this.physics.getTimeStep()) {
+    		adaptiveTimeStep = Double.NaN;
+    	}
+    	this.physics = physics;
+    }
+    
+    /**
+     * @return	The constants this universe is updated with
+     */
+    public PhysicsConfig getPhysicsConfig() {
+    	return physics;
     }
     
     
@@ -361,17 +1429,150 @@ public abstract class Universe<V extends Vector<V>> {
     
     public void setCollisionEnabled(boolean collisionEnabled) {
     	this.collisionEnabled = collisionEnabled;
+    	calibrator.forgetLastStep();
+    }
+    
+    public void setCollisionMethod(CollisionMethod method) {
+    	collisionMethod = method;
+    	calibrator.forgetLastStep();
+    	
+    	switch (method) {
+    		case SPATIAL_HASH:
+    			broadPhase = new SpatialHashGrid();
+    			break;
+    		case SWEEP_AND_PRUNE:
+    			broadPhase = new SweepAndPrune();
+    			break;
+    		case GRAVITY_TREE:
+    			broadPhase = new TreeBroadPhase();
+    			break;
+    	}
+    }
+    
+    public CollisionMethod getCollisionMethod() {
+    	return collisionMethod;
     }
     
     
+    /**
+     * Switches to the given integration method.  If the method is
+     * {@code IntegrationMethod.ADAPTIVE_RUNGE_KUTTA}, its first step
+     * is the time step of this universe.
+     * 
+     * @param method	The new integration method
+     */
     public void setIntegrationMethod(IntegrationMethod method) {
     	integrateMethod = method;
+    	adaptiveTimeStep = Double.NaN;
+    	reusableAccel = false;
+    	calibrator.forgetLastStep();
     }
     
     public IntegrationMethod getIntegrationMethod() {
     	return integrateMethod;
     }
     
+    /**
+     * @return	The time step the next update of {@code IntegrationMethod.ADAPTIVE_RUNGE_KUTTA}
+     * 			will try, or {@code NaN} if it hasn't been used since it was switched
+     * 			to or since the time step was changed
+     */
+    public double getAdaptiveTimeStep() {
+    	return adaptiveTimeStep;
+    }
+    
+    
+    /**
+     * Switches to one of the built-in force solvers.
+     * 
+     * @param method	Which force solver is used
+     */
+    public void setForceMethod(ForceMethod method) {
+    	forceMethod = method;
+    	reusableAccel = false;
+    	calibrator.reset();
+    	
+    	switch (method) {
+    		case DIRECT:
+    			forceSolver = new DirectSolver<>();
+    			break;
+    		case SYMMETRIC_DIRECT:
+    			forceSolver = new SymmetricDirectSolver<>();
+    			break;
+    		case TILED_DIRECT:
+    			forceSolver = new TiledDirectSolver<>();
+    			break;
+    		case VECTORIZED_DIRECT:
+    			forceSolver = new VectorizedSolver<>();
+    			break;
+    		case BARNES_HUT:
+    			forceSolver = new BarnesHutSolver<>(openingAngle);
+    			break;
+    	}
+    }
+    
+    public ForceMethod getForceMethod() {
+    	return forceMethod;
+    }
+    
+    
+    /**
+     * Replaces the force solver with the given one.  This is mostly useful
+     * for comparing solvers that aren't one of the {@link ForceMethod} options.
+     * The solver stays in use until {@link #setForceMethod(ForceMethod)} is called.
+     * 
+     * @param forceSolver	The new force solver
+     */
+    public void setForceSolver(ForceSolver<V> forceSolver) {
+    	this.forceSolver = forceSolver;
+    	reusableAccel = false;
+    	calibrator.reset();
+    }
+    
+    public ForceSolver<V> getForceSolver() {
+    	return forceSolver;
+    }
+    
+    
+    /**
+     * Sets the opening angle used by {@code ForceMethod.BARNES_HUT}.  Smaller
+     * angles are more accurate but slower, and an angle of zero gives the
+     * same result as {@code ForceMethod.DIRECT}.
+     * 
+     * @param openingAngle	The new opening angle
+     */
+    public void setOpeningAngle(double openingAngle) {
+    	if (openingAngle >= 0) {
+    		this.openingAngle = openingAngle;
+    		reusableAccel = false;
+    		calibrator.forgetLastStep();
+    		
+    		if (forceSolver instanceof BarnesHutSolver<V> solver) {
+    			solver.setOpeningAngle(openingAngle);
+    		}
+    	} else {
+    		throw new IllegalArgumentException("Opening angle is " + openingAngle
+        			+ " when it should be at least zero");
+    	}
+    }
+    
+    public double getOpeningAngle() {
+    	return openingAngle;
+    }
+    
+    
+    /**
+     * Sets whether multiple threads may be used to update this universe.
+     * They are allowed by default, and are then only used when they are
+     * faster.  Turning them off is useful when many universes are being
+     * updated at once, each on its own thread.
+     * 
+     * @param allowed	If multiple threads may be used
+     */
+    public void setMultithreaded(boolean allowed) {
+    	calibrator.setThreadsAllowed(allowed);
+    }
+    
     
     public ArrayList<Planet<V>> getPlanets() {
     	return planets;
@@ -195,6 +195,35 @@ public interface Vector<V extends Vector<V>> {
 	
 	
 	
+	/**
+	 * Returns the number of components within the vector,
+	 * otherwise known as the dimension of the vector.
+	 * 
+	 * @return	The dimension of the vector
+	 */
+	int dimension();
+	
+	/**
+	 * Returns the value of one of this vector's components.  Axis 0 is the
+	 * x-axis, axis 1 is the y-axis, and so on.  This method allows code that
+	 * works with raw numbers (like the force solvers) to read any vector.
+	 * 
+	 * @param axis	The index of the component
+	 * @return		The value of the component
+	 */
+	double getComponent(int axis);
+	
+	/**
+	 * Sets the value of one of this vector's components.  Axis 0 is the
+	 * x-axis, axis 1 is the y-axis, and so on.
+	 * 
+	 * @param axis	The index of the component
+	 * @param value	The new value of the component
+	 */
+	void setComponent(int axis, double value);
+	
+	
+	
 	/**
 	 * Creates a new vector in which all of its components
 	 * have the same value as the current vector.
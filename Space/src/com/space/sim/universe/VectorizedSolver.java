@@ -0,0 +1,380 @@
+package com.space.sim.universe;
+
+import java.util.stream.IntStream;
+
+/**
+ * A {@link ForceSolver} that adds up the gravity of every planet exactly,
+ * using SIMD instructions, which handle several planets with a single instruction.
+ * <p>
+ * If {@code DoubleVectorKernel} (kept in {@code src-vector}) was compiled
+ * and {@code jdk.incubator.vector} is enabled, the innermost loop is done by that kernel, which uses the Vector
+ * API directly.  Otherwise, the loops below are used, which are written so that
+ * the JIT compiler can vectorize them on its own.  Both give the same result,
+ * apart from rounding.  {@link #usesVectorApi()} tells which one is used.
+ * <p>
+ * HotSpot only vectorizes simple loops: ones that go straight through arrays
+ * without branches and without adding into the same variable every time.  So
+ * for each target planet, the source planets are handled in blocks of
+ * {@value #BLOCK}.  The first loop finds the acceleration from every source in
+ * the block and writes it to a scratch array, which is the part that gets
+ * vectorized (including the square root and division).  A second loop then
+ * adds the scratch array into a row of running sums, one for each slot of the
+ * block, which can be vectorized as well.  The running sums are only added
+ * together once every block has been handled.
+ * <p>
+ * To keep the first loop free of branches, {@link #prepare(ParticleStore)}
+ * packs the coordinates and masses of every planet with mass into separate
+ * arrays, so massless planets never have to be skipped.  A planet's own
+ * gravity is removed by zeroing its entry in the scratch array.
+ * <p>
+ * Only two and three dimensions have vectorized loops.  Other dimensions,
+ * and JVMs that do not vectorize, still get the correct result; in the
+ * second case each block simply runs as ordinary scalar code.
+ *
+ * @author David Krug
+ * @version October 17, 2026
+ * @param <V> The type of vector the planets use
+ */
+public class VectorizedSolver<V extends Vector<V>> implements ForceSolver<V> {
+
+	static final int BLOCK = 256;
+	//Planets are handed to threads in groups of this many targets
+	private static final int TARGET_TILE = 128;
+
+	private final TiledDirectSolver<V> fallback = new TiledDirectSolver<>();
+
+	//The kernel written with the Vector API, or null if it can't be used
+	private static final GravityKernel VECTOR_KERNEL = loadVectorKernel();
+
+	//The planets with mass, packed together.  sourceCoords[axis][k] is the
+	//position of packed planet k, and packedIndex[i] is the packed index of
+	//planet i in the store, or -1 if it has no mass.
+	private double[][] sourceCoords = new double[0][0];
+	private double[] sourceMass = new double[0];
+	private int[] packedIndex = new int[0];
+	private int sourceCount;
+
+	//Each thread gets its own scratch arrays: three for the results of the
+	//first loop, and three for the running sums
+	private final ThreadLocal<double[][]> scratch =
+			ThreadLocal.withInitial(() -> new double[6][BLOCK]);
+
+
+	/**
+	 * Loads {@link DoubleVectorKernel} by name, so that this class still compiles
+	 * and runs without it, or without {@code jdk.incubator.vector}.
+	 *
+	 * @return	The kernel, or {@code null} if it wasn't compiled or the module isn't enabled
+	 */
+	private static GravityKernel loadVectorKernel() {
+		try {
+			return (GravityKernel) Class.forName("com.space.sim.universe.DoubleVectorKernel")
+					.getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			//LinkageError is thrown when the kernel is there but the module isn't
+			return null;
+		}
+	}
+
+	/**
+	 * @return	If the gravity is found with the Vector API, rather
+	 * 			than loops that the JIT compiler vectorizes
+	 */
+	public static boolean usesVectorApi() {
+		return VECTOR_KERNEL != null;
+	}
+
+
+	@Override
+	public void prepare(ParticleStore<V> store) {
+		int dimension = store.dimension();
+		int size = store.size();
+
+		if (sourceCoords.length != dimension || sourceMass.length < size) {
+			int capacity = Math.max(size, sourceMass.length * 2);
+			sourceCoords = new double[dimension][capacity];
+			sourceMass = new double[capacity];
+			packedIndex = new int[capacity];
+		}
+
+		double[][] coords = store.getCoords();
+		double[] mass = store.getMass();
+
+		sourceCount = 0;
+		for (int i = 0; i < size; i++) {
+			if (mass[i] == 0) {
+				packedIndex[i] = -1;
+				continue;
+			}
+
+			for (int a = 0; a < dimension; a++) {
+				sourceCoords[a][sourceCount] = coords[a][i];
+			}
+			sourceMass[sourceCount] = mass[i];
+			packedIndex[i] = sourceCount;
+			sourceCount++;
+		}
+	}
+
+	@Override
+	public void calcAccels(ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant, boolean parallel) {
+		if (store.dimension() != 2 && store.dimension() != 3) {
+			fallback.calcAccels(store, positions, accels, gravConstant, parallel);
+			return;
+		}
+
+		int tiles = (store.size() + TARGET_TILE - 1) / TARGET_TILE;
+
+		if (parallel) {
+			IntStream.range(0, tiles).parallel()
+					.forEach(t -> calcTile(t, store, positions, accels, gravConstant));
+		} else {
+			for (int t = 0; t < tiles; t++) {
+				calcTile(t, store, positions, accels, gravConstant);
+			}
+		}
+	}
+
+	@Override
+	public void calcAccels(ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant, boolean parallel,
+			int[] targets, int targetCount) {
+		if (store.dimension() != 2 && store.dimension() != 3) {
+			fallback.calcAccels(store, positions, accels, gravConstant, parallel,
+					targets, targetCount);
+			return;
+		}
+
+		if (parallel) {
+			IntStream.range(0, targetCount).parallel()
+					.forEach(k -> calcAccel(targets[k], store, positions, accels, gravConstant));
+		} else {
+			for (int k = 0; k < targetCount; k++) {
+				calcAccel(targets[k], store, positions, accels, gravConstant);
+			}
+		}
+	}
+
+
+	/**
+	 * Finds the acceleration of every planet in the given target tile.
+	 *
+	 * @param tile			The index of the target tile
+	 * @param store			The planets whose gravity is acting on each other
+	 * @param positions		Where each planet is located when finding its acceleration
+	 * @param accels		Where the acceleration of each planet is stored
+	 * @param gravConstant	The gravitational constant
+	 */
+	private void calcTile(int tile, ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant) {
+		int end = Math.min((tile + 1) * TARGET_TILE, store.size());
+
+		for (int i = tile * TARGET_TILE; i < end; i++) {
+			calcAccel(i, store, positions, accels, gravConstant);
+		}
+	}
+
+	/**
+	 * Finds the acceleration of planet {@code i}, using the loop that
+	 * matches the dimension of the store.
+	 *
+	 * @param i				The index of the planet
+	 * @param store			The planets whose gravity is acting on the planet
+	 * @param positions		Where each planet is located when finding its acceleration
+	 * @param accels		Where the acceleration of each planet is stored
+	 * @param gravConstant	The gravitational constant
+	 */
+	private void calcAccel(int i, ParticleStore<V> store, double[][] positions,
+			double[][] accels, double gravConstant) {
+		if (VECTOR_KERNEL != null) {
+			calcAccelWithKernel(i, store.dimension(), positions, accels, gravConstant,
+					scratch.get()[0]);
+		} else if (store.dimension() == 3) {
+			calcAccel3D(i, positions, accels, gravConstant, scratch.get());
+		} else {
+			calcAccel2D(i, positions, accels, gravConstant, scratch.get());
+		}
+	}
+
+	/**
+	 * Finds the acceleration of planet {@code i} in two or three dimensions
+	 * with {@code VECTOR_KERNEL}.  The planet's own gravity is left out by
+	 * giving the kernel the sources before it and after it separately.
+	 *
+	 * @param i				The index of the planet
+	 * @param dimension		The number of dimensions, either 2 or 3
+	 * @param positions		Where each planet is located when finding its acceleration
+	 * @param accels		Where the acceleration of each planet is stored
+	 * @param gravConstant	The gravitational constant
+	 * @param sum			A scratch array, which must hold at least 3 values
+	 */
+	private void calcAccelWithKernel(int i, int dimension, double[][] positions,
+			double[][] accels, double gravConstant, double[] sum) {
+		int self = packedIndex[i];
+		int before = (self >= 0) ? self : sourceCount;
+		int after = (self >= 0) ? self + 1 : sourceCount;
+
+		sum[0] = 0;
+		sum[1] = 0;
+		sum[2] = 0;
+
+		if (dimension == 3) {
+			double px = positions[0][i];
+			double py = positions[1][i];
+			double pz = positions[2][i];
+			VECTOR_KERNEL.addAccel3D(px, py, pz, sourceCoords[0], sourceCoords[1], sourceCoords[2],
+					sourceMass, 0, before, sum);
+			VECTOR_KERNEL.addAccel3D(px, py, pz, sourceCoords[0], sourceCoords[1], sourceCoords[2],
+					sourceMass, after, sourceCount, sum);
+		} else {
+			double px = positions[0][i];
+			double py = positions[1][i];
+			VECTOR_KERNEL.addAccel2D(px, py, sourceCoords[0], sourceCoords[1],
+					sourceMass, 0, before, sum);
+			VECTOR_KERNEL.addAccel2D(px, py, sourceCoords[0], sourceCoords[1],
+					sourceMass, after, sourceCount, sum);
+		}
+
+		for (int a = 0; a < dimension; a++) {
+			accels[a][i] = sum[a] * gravConstant;
+		}
+	}
+
+
+	/**
+	 * Finds the acceleration of planet {@code i} in two dimensions.
+	 *
+	 * @param i				The index of the planet
+	 * @param positions		Where each planet is located when finding its acceleration
+	 * @param accels		Where the acceleration of each planet is stored
+	 * @param gravConstant	The gravitational constant
+	 * @param temp			The scratch arrays, which must hold at least {@value #BLOCK} values
+	 */
+	private void calcAccel2D(int i, double[][] positions, double[][] accels,
+			double gravConstant, double[][] temp) {
+		final double[] xs = sourceCoords[0];
+		final double[] ys = sourceCoords[1];
+		final double[] ms = sourceMass;
+		final double[] fx = temp[0];
+		final double[] fy = temp[1];
+		final double[] sumX = temp[3];
+		final double[] sumY = temp[4];
+
+		final double px = positions[0][i];
+		final double py = positions[1][i];
+		final int self = packedIndex[i];
+
+		for (int start = 0; start < sourceCount; start += BLOCK) {
+			final int len = Math.min(BLOCK, sourceCount - start);
+
+			//The loop that gets vectorized
+			for (int k = 0; k < len; k++) {
+				double dx = xs[start + k] - px;
+				double dy = ys[start + k] - py;
+
+				double invDist = 1 / Math.sqrt((dx * dx) + (dy * dy));
+				double strength = ms[start + k] * invDist * invDist * invDist;
+
+				fx[k] = dx * strength;
+				fy[k] = dy * strength;
+			}
+
+			if (self >= start && self < start + len) {
+				fx[self - start] = 0;
+				fy[self - start] = 0;
+			}
+
+			for (int k = 0; k < len; k++) {
+				sumX[k] += fx[k];
+				sumY[k] += fy[k];
+			}
+		}
+
+		double ax = 0;
+		double ay = 0;
+		for (int k = 0; k < BLOCK; k++) {
+			ax += sumX[k];
+			ay += sumY[k];
+			sumX[k] = 0;
+			sumY[k] = 0;
+		}
+
+		accels[0][i] = ax * gravConstant;
+		accels[1][i] = ay * gravConstant;
+	}
+
+	/**
+	 * Finds the acceleration of planet {@code i} in three dimensions.
+	 *
+	 * @param i				The index of the planet
+	 * @param positions		Where each planet is located when finding its acceleration
+	 * @param accels		Where the acceleration of each planet is stored
+	 * @param gravConstant	The gravitational constant
+	 * @param temp			The scratch arrays, which must hold at least {@value #BLOCK} values
+	 */
+	private void calcAccel3D(int i, double[][] positions, double[][] accels,
+			double gravConstant, double[][] temp) {
+		final double[] xs = sourceCoords[0];
+		final double[] ys = sourceCoords[1];
+		final double[] zs = sourceCoords[2];
+		final double[] ms = sourceMass;
+		final double[] fx = temp[0];
+		final double[] fy = temp[1];
+		final double[] fz = temp[2];
+		final double[] sumX = temp[3];
+		final double[] sumY = temp[4];
+		final double[] sumZ = temp[5];
+
+		final double px = positions[0][i];
+		final double py = positions[1][i];
+		final double pz = positions[2][i];
+		final int self = packedIndex[i];
+
+		for (int start = 0; start < sourceCount; start += BLOCK) {
+			final int len = Math.min(BLOCK, sourceCount - start);
+
+			//The loop that gets vectorized
+			for (int k = 0; k < len; k++) {
+				double dx = xs[start + k] - px;
+				double dy = ys[start + k] - py;
+				double dz = zs[start + k] - pz;
+
+				double invDist = 1 / Math.sqrt((dx * dx) + (dy * dy) + (dz * dz));
+				double strength = ms[start + k] * invDist * invDist * invDist;
+
+				fx[k] = dx * strength;
+				fy[k] = dy * strength;
+				fz[k] = dz * strength;
+			}
+
+			if (self >= start && self < start + len) {
+				fx[self - start] = 0;
+				fy[self - start] = 0;
+				fz[self - start] = 0;
+			}
+
+			for (int k = 0; k < len; k++) {
+				sumX[k] += fx[k];
+				sumY[k] += fy[k];
+				sumZ[k] += fz[k];
+			}
+		}
+
+		double ax = 0;
+		double ay = 0;
+		double az = 0;
+		for (int k = 0; k < BLOCK; k++) {
+			ax += sumX[k];
+			ay += sumY[k];
+			az += sumZ[k];
+			sumX[k] = 0;
+			sumY[k] = 0;
+			sumZ[k] = 0;
+		}
+
+		accels[0][i] = ax * gravConstant;
+		accels[1][i] = ay * gravConstant;
+		accels[2][i] = az * gravConstant;
+	}
+}
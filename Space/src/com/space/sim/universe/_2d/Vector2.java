@@ -103,6 +103,41 @@ public class Vector2 implements Vector<Vector2> {
 	
 	
 	
+	@Override
+	public int dimension() {
+		return 2;
+	}
+	
+	@Override
+	public double getComponent(int axis) {
+		switch (axis) {
+			case 0:
+				return x;
+			case 1:
+				return y;
+			default:
+				throw new IllegalArgumentException("Axis is " + axis
+						+ " when it should be between 0 and 1");
+		}
+	}
+	
+	@Override
+	public void setComponent(int axis, double value) {
+		switch (axis) {
+			case 0:
+				x = value;
+				break;
+			case 1:
+				y = value;
+				break;
+			default:
+				throw new IllegalArgumentException("Axis is " + axis
+						+ " when it should be between 0 and 1");
+		}
+	}
+	
+	
+	
 	public double x() {
 		return x;
 	}
@@ -17,9 +17,9 @@ public class Universe3D extends Universe<Vector3> {
 	public Universe3D() {
 		super();
 		
-		planets.add(new Planet3D(0, 100, 0, 500, Color.BLUE));
-		planets.add(new Planet3D(new Vector3(-100, 0, 0), 500, Color.WHITE));
-		planets.add(new Planet3D(150, 50, 0, 200, Color.WHITE));
+		addNewPlanet(new Planet3D(0, 100, 0, 500, Color.BLUE));
+		addNewPlanet(new Planet3D(new Vector3(-100, 0, 0), 500, Color.WHITE));
+		addNewPlanet(new Planet3D(150, 50, 0, 200, Color.WHITE));
         
         planets.get(0).setVelocity(new Vector3(2, 0, 0));
         planets.get(1).setVelocity(new Vector3(0, 2, 0));
@@ -29,7 +29,7 @@ public class Universe3D extends Universe<Vector3> {
 	
 	@Override
 	protected void createPlanet(Vector3 coords, Vector3 velocity, double mass, ColorInfo color) {
-		planets.add(new Planet3D(coords, mass, color));
+		addNewPlanet(new Planet3D(coords, mass, color));
         planets.get(planets.size() - 1).setVelocity(velocity);
 	}
 	
@@ -49,7 +49,7 @@ public class Universe3D extends Universe<Vector3> {
     public void addPlanet(double[] stats) {
         if (stats != null) {
         	if (stats.length == 7) {
-        		planets.add(new Planet3D(
+        		addNewPlanet(new Planet3D(
         				new Vector3(stats[0], stats[1], stats[2]), stats[3]));
 
         		planets.get(planets.size() - 1).setVelocity(
@@ -73,54 +73,58 @@ public class Universe3D extends Universe<Vector3> {
         				for (int k = -10; k < 10; k++) {
         					Vector3 pos = new Vector3(i * 20, j * 20, k * 20);
                 			
-                			planets.add(new Planet3D(pos, 1));
+                			addNewPlanet(new Planet3D(pos, 1));
         				}
         			}
         		}
         		break;
             case 2:
                 //Planet cyclone
+            	Random cycloneRand = new Random();
+            	cycloneRand.setSeed(pickPresetSeed("Start Seed", System.nanoTime(), 0));
+            	
                 for (int i = 0; i < 500; i++) {
-                	final double rad = 1600 * Math.sqrt(Math.random());
-                	final double theta = 2 * Math.PI * Math.random();
+                	final double rad = 1600 * Math.sqrt(cycloneRand.nextDouble());
+                	final double theta = 2 * Math.PI * cycloneRand.nextDouble();
                 	
-                    planets.add(new Planet3D(
+                    addNewPlanet(new Planet3D(
                     		new Vector3(rad * Math.cos(theta), rad * Math.sin(theta), 
-                    		(Math.random() * 200) - 100),
-                    		(rad / 32d) * ((Math.random() * 20) + 1)));
+                    		(cycloneRand.nextDouble() * 200) - 100),
+                    		(rad / 32d) * ((cycloneRand.nextDouble() * 20) + 1)));
                     Vector3 velocity = new Vector3(
-                    		(rad / 4d) * Math.cos(theta + Math.PI / 2d) + (Math.random() * 3) - 1.5,
-                    		(rad / 4d) * Math.sin(theta + Math.PI / 2d) + (Math.random() * 3) - 1.5,
-                    		(Math.random() * 1) - 0.5);
+                    		(rad / 4d) * Math.cos(theta + Math.PI / 2d) + (cycloneRand.nextDouble() * 3) - 1.5,
+                    		(rad / 4d) * Math.sin(theta + Math.PI / 2d) + (cycloneRand.nextDouble() * 3) - 1.5,
+                    		(cycloneRand.nextDouble() * 1) - 0.5);
                     planets.get(i).setVelocity(velocity);
                 }
                 break;
             case 3:
             	//Planet Whirl
+            	Random whirlRand = new Random();
+            	whirlRand.setSeed(pickPresetSeed("Start Seed", System.nanoTime(), 0));
+            	
                 for (int i = 0; i < 500; i++) {
-                	final double rad = 800 * Math.sqrt(Math.random());
-                	final double theta = 2 * Math.PI * Math.random();
+                	final double rad = 800 * Math.sqrt(whirlRand.nextDouble());
+                	final double theta = 2 * Math.PI * whirlRand.nextDouble();
                 	
-                    planets.add(new Planet3D(
-                    		new Vector3(rad * Math.cos(theta), rad * Math.sin(theta), (Math.random() * 200) - 100),
-                    		((Math.random() * 20) + 1)));
+                    addNewPlanet(new Planet3D(
+                    		new Vector3(rad * Math.cos(theta), rad * Math.sin(theta), (whirlRand.nextDouble() * 200) - 100),
+                    		((whirlRand.nextDouble() * 20) + 1)));
                     Vector3 velocity = new Vector3(
-                    		(rad / 80) * Math.cos(theta + Math.PI / 2d) + (Math.random() * 3) - 1.5,
-                    		(rad / 80) * Math.sin(theta + Math.PI / 2d) + (Math.random() * 3) - 1.5,
-                    		(Math.random() * 1) - 0.5);
+                    		(rad / 80) * Math.cos(theta + Math.PI / 2d) + (whirlRand.nextDouble() * 3) - 1.5,
+                    		(rad / 80) * Math.sin(theta + Math.PI / 2d) + (whirlRand.nextDouble() * 3) - 1.5,
+                    		(whirlRand.nextDouble() * 1) - 0.5);
                     planets.get(i).setVelocity(velocity);
                 }
                 break;
             case 4:
                 //Create-a-Star
             	Random rand = new Random();
-            	long seed = System.nanoTime();
-            	System.out.println("Start Seed: " + seed);
+            	long seed = pickPresetSeed("Start Seed", System.nanoTime(), 0);
             	rand.setSeed(seed);
             	
             	Random colRand = new Random();
-            	long colSeed = System.nanoTime();
-            	System.out.println("Color Seed: " + colSeed);
+            	long colSeed = pickPresetSeed("Color Seed", System.nanoTime(), 1);
             	colRand.setSeed(colSeed);
             	
                 for (int i = 0; i < 500; i++) {
@@ -133,7 +137,7 @@ public class Universe3D extends Universe<Vector3> {
             		ColorInfo col = new ColorInfo(
             				colRand.nextFloat(25, 255), colRand.nextFloat(25, 255), colRand.nextFloat(25, 255));
                 	
-                    planets.add(new Planet3D(pos, mass, col));
+                    addNewPlanet(new Planet3D(pos, mass, col));
                     planets.get(i).setVelocity(vel);
                 }
                 break;
@@ -145,6 +145,46 @@ public class Vector3 implements Vector<Vector3> {
 	
 	
 	
+	@Override
+	public int dimension() {
+		return 3;
+	}
+	
+	@Override
+	public double getComponent(int axis) {
+		switch (axis) {
+			case 0:
+				return x;
+			case 1:
+				return y;
+			case 2:
+				return z;
+			default:
+				throw new IllegalArgumentException("Axis is " + axis
+						+ " when it should be between 0 and 2");
+		}
+	}
+	
+	@Override
+	public void setComponent(int axis, double value) {
+		switch (axis) {
+			case 0:
+				x = value;
+				break;
+			case 1:
+				y = value;
+				break;
+			case 2:
+				z = value;
+				break;
+			default:
+				throw new IllegalArgumentException("Axis is " + axis
+						+ " when it should be between 0 and 2");
+		}
+	}
+	
+	
+	
 	@Override
 	public Vector3 copy() {
 		return new Vector3(this);
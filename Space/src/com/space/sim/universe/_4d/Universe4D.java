@@ -17,16 +17,16 @@ public class Universe4D extends Universe<Vector4> {
 	public Universe4D() {
 		super();
 		
-		planets.add(new Planet4D(new Vector4(0, 0, 0, 0), 10000, new ColorInfo(Color.RED)));
+		addNewPlanet(new Planet4D(new Vector4(0, 0, 0, 0), 10000, new ColorInfo(Color.RED)));
 		planets.get(0).setVelocity(new Vector4(0, 0, 0, 0));
 		
-		planets.add(new Planet4D(new Vector4(100, 0, 0, 0), 10, new ColorInfo(Color.ORANGE)));
+		addNewPlanet(new Planet4D(new Vector4(100, 0, 0, 0), 10, new ColorInfo(Color.ORANGE)));
 		planets.get(1).setVelocity(new Vector4(0, 10, 0, 0));
 		
-		planets.add(new Planet4D(new Vector4(0, 100, 0, 0), 10, new ColorInfo(Color.BLUE)));
+		addNewPlanet(new Planet4D(new Vector4(0, 100, 0, 0), 10, new ColorInfo(Color.BLUE)));
 		planets.get(2).setVelocity(new Vector4(0, 0, 10, 0));
 		
-		planets.add(new Planet4D(new Vector4(0, 0, 100, 0), 10, new ColorInfo(Color.CYAN)));
+		addNewPlanet(new Planet4D(new Vector4(0, 0, 100, 0), 10, new ColorInfo(Color.CYAN)));
 		planets.get(3).setVelocity(new Vector4(0, 0, 0, 10));
 		
 	}
@@ -34,7 +34,7 @@ public class Universe4D extends Universe<Vector4> {
 
 	@Override
 	protected void createPlanet(Vector4 coords, Vector4 velocity, double mass, ColorInfo color) {
-		planets.add(new Planet4D(coords, mass, color));
+		addNewPlanet(new Planet4D(coords, mass, color));
         planets.get(planets.size() - 1).setVelocity(velocity);
 	}
 
@@ -53,7 +53,7 @@ public class Universe4D extends Universe<Vector4> {
 	public void addPlanet(double[] stats) {
 		if (stats != null) {
         	if (stats.length == 9) {
-        		planets.add(new Planet4D(new Vector4(stats[0], stats[1], stats[2], stats[3]), stats[4]));
+        		addNewPlanet(new Planet4D(new Vector4(stats[0], stats[1], stats[2], stats[3]), stats[4]));
 
         		planets.get(planets.size() - 1).setVelocity(new Vector4(stats[5], stats[6], stats[7], stats[8]));
         	} else {
@@ -69,13 +69,11 @@ public class Universe4D extends Universe<Vector4> {
 		switch(presetNum) {
 			case 1:
 				Random rand = new Random();
-            	long seed = System.nanoTime();
-            	System.out.println("Start Seed: " + seed);
+            	long seed = pickPresetSeed("Start Seed", System.nanoTime(), 0);
             	rand.setSeed(seed);
             	
             	Random colRand = new Random();
-            	long colSeed = System.nanoTime();
-            	System.out.println("Color Seed: " + colSeed);
+            	long colSeed = pickPresetSeed("Color Seed", System.nanoTime(), 1);
             	colRand.setSeed(colSeed);
 				
 				for (int i = 0; i < 500; i++) {
@@ -85,7 +83,7 @@ public class Universe4D extends Universe<Vector4> {
 							rand.nextDouble(), rand.nextDouble());
 					ColorInfo col = new ColorInfo(colRand.nextFloat(25, 255),
 							colRand.nextFloat(25, 255), colRand.nextFloat(25, 255));
-					planets.add(new Planet4D(pos, rand.nextDouble(), col));
+					addNewPlanet(new Planet4D(pos, rand.nextDouble(), col));
 					planets.get(i).setVelocity(vel);
 				}
 			default:
@@ -135,6 +135,51 @@ public class Vector4 implements Vector<Vector4> {
 	}
 	
 	
+	@Override
+	public int dimension() {
+		return 4;
+	}
+	
+	@Override
+	public double getComponent(int axis) {
+		switch (axis) {
+			case 0:
+				return x;
+			case 1:
+				return y;
+			case 2:
+				return z;
+			case 3:
+				return w;
+			default:
+				throw new IllegalArgumentException("Axis is " + axis
+						+ " when it should be between 0 and 3");
+		}
+	}
+	
+	@Override
+	public void setComponent(int axis, double value) {
+		switch (axis) {
+			case 0:
+				x = value;
+				break;
+			case 1:
+				y = value;
+				break;
+			case 2:
+				z = value;
+				break;
+			case 3:
+				w = value;
+				break;
+			default:
+				throw new IllegalArgumentException("Axis is " + axis
+						+ " when it should be between 0 and 3");
+		}
+	}
+	
+	
+	
 	@Override
 	public Vector4 copy() {
 		return new Vector4(this);
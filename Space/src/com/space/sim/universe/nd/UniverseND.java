@@ -18,12 +18,15 @@ public class UniverseND extends Universe<VectorN> {
 	
 	public UniverseND(int dimension) {
 		this.dimension = dimension;
+		
+		//The grid has too many neighboring cells to check in higher dimensions
+		setCollisionMethod(CollisionMethod.SWEEP_AND_PRUNE);
 	}
 	
 	
 	@Override
 	protected void createPlanet(VectorN coords, VectorN velocity, double mass, ColorInfo color) {
-		planets.add(new PlanetND(coords, mass, color));
+		addNewPlanet(new PlanetND(coords, mass, color));
 		planets.get(planets.size() - 1).setVelocity(velocity);
 	}
 
@@ -45,7 +48,7 @@ public class UniverseND extends Universe<VectorN> {
         		VectorN pos = new VectorN(Arrays.copyOfRange(stats, 0, dimension));
         		VectorN vel = new VectorN(Arrays.copyOfRange(stats, dimension + 1, 1 + (2 * dimension)));
         		
-        		planets.add(new PlanetND(pos, stats[dimension]));
+        		addNewPlanet(new PlanetND(pos, stats[dimension]));
 
         		planets.get(planets.size() - 1).setVelocity(vel);
         	} else {
@@ -63,7 +66,7 @@ public class UniverseND extends Universe<VectorN> {
 		
 		switch (presetNum) {
 			case 1:
-				planets.add(new PlanetND(new VectorN(new double[dimension]), Math.pow(10, dimension)));
+				addNewPlanet(new PlanetND(new VectorN(new double[dimension]), Math.pow(10, dimension)));
 			break;
 		}
 	}
@@ -138,6 +138,17 @@ public class VectorN implements Vector<VectorN> {
 	}
 
 	
+	@Override
+	public double getComponent(int axis) {
+		return x[axis];
+	}
+	
+	@Override
+	public void setComponent(int axis, double value) {
+		x[axis] = value;
+	}
+	
+	
 	public double[] values() {
 		return x;
 	}
@@ -155,6 +166,7 @@ public class VectorN implements Vector<VectorN> {
 	 * 
 	 * @return	The dimension of the vector
 	 */
+	@Override
 	public int dimension() {
 		return x.length;
 	}